@@ -0,0 +1,47 @@
+package benchmark;
+
+import grid.InstanceFile;
+import grid.InstanceGenerator;
+
+/**
+ * Seeded synthetic instances of benchmarks that are generated by {@link InstanceGenerator}.
+ * Points and sets are in a square that its area grows with number of points, so density of points is same in all scales,
+ * and sets are axis aligned rectangles that every point is inside of at least one of them.
+ * Same arguments always create same instance.
+ * @author Majid Feyzi
+ * */
+final class Instances {
+
+	// Area of square for each point
+	private static final int AREA_PER_POINT = 32 * 32;
+
+	// Average number of sets that cover a location of square
+	private static final double OVERLAP = 2;
+
+	private Instances() {}
+
+	/**
+	 * Create instance.
+	 * @param points number of points
+	 * @param sets number of sets
+	 * @param seed seed of random numbers
+	 * @return instance file without membership
+	 * */
+	static InstanceFile create(int points, int sets, long seed) {
+		int side = side(points);
+		InstanceGenerator generator = new InstanceGenerator(seed);
+		generator.setRegion(0, 0, side, side);
+		generator.setShape(InstanceGenerator.Shape.Rectangle);
+		generator.setOverlap(OVERLAP);
+		return generator.generate(points, sets);
+	}
+
+	/**
+	 * Get side of square of points.
+	 * @param points number of points
+	 * @return side of square
+	 * */
+	static int side(int points) {
+		return Math.max(100, (int) Math.sqrt((double) points * AREA_PER_POINT));
+	}
+}
@@ -0,0 +1,97 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import grid.Line;
+import grid.Point;
+import grid.Polygon;
+
+/**
+ * Throughput of point in polygon tests.
+ * Polygon is a star shaped polygon with random radii around center of a square
+ * and points are uniform in bounding box of polygon, so about half of them are inside of it.
+ * Score is number of tested points per microsecond.
+ * @author Majid Feyzi
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MembershipBenchmark {
+
+	// Number of tested points in each invocation
+	private static final int POINTS = 4096;
+
+	@Param({"4", "16", "64"})
+	private int vertices;
+
+	private Polygon polygon;
+	private List<Point> points;
+	private int[] xs, ys;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(vertices);
+		int center = 1000;
+
+		List<Point> corners = new ArrayList<>();
+		for (int i = 0; i < vertices; i++) {
+			double angle = 2 * Math.PI * i / vertices;
+			int radius = 300 + random.nextInt(600);
+			corners.add(new Point(center + (int) (radius * Math.cos(angle)), center + (int) (radius * Math.sin(angle))));
+		}
+		List<Line> edges = new ArrayList<>();
+		for (int i = 0; i < vertices; i++)
+			edges.add(new Line(corners.get(i), corners.get((i + 1) % vertices)));
+		polygon = new Polygon(edges);
+
+		points = new ArrayList<>();
+		xs = new int[POINTS];
+		ys = new int[POINTS];
+		int width = polygon.getMaxX() - polygon.getMinX() + 1;
+		int height = polygon.getMaxY() - polygon.getMinY() + 1;
+		for (int i = 0; i < POINTS; i++) {
+			xs[i] = polygon.getMinX() + random.nextInt(width);
+			ys[i] = polygon.getMinY() + random.nextInt(height);
+			points.add(new Point(xs[i], ys[i]));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(POINTS)
+	public int isInside() {
+		int inside = 0;
+		for (int i = 0; i < POINTS; i++)
+			if (polygon.isInside(xs[i], ys[i]))
+				inside++;
+		return inside;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(POINTS)
+	public int isInsideOfPolygon() {
+		int inside = 0;
+		for (Point point : points)
+			if (polygon.isInsideOfPolygon(point))
+				inside++;
+		return inside;
+	}
+}
@@ -0,0 +1,74 @@
+package benchmark;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import grid.InstanceFile;
+import grid.Point;
+import grid.Polygon;
+import grid.Set;
+
+/**
+ * Time of finding points of sets.
+ * Scan creates one set by checking all points of grid against its polygon, as sets of grid are created without spatial index.
+ * Members finds points of all sets of instance by building spatial index of points and checking only nearby cells.
+ * @author Majid Feyzi
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Djava.awt.headless=true")
+public class SetConstructionBenchmark {
+
+	// Number of sets of instance
+	private static final int SETS = 64;
+
+	@Param({"10000", "100000", "1000000"})
+	private int points;
+
+	private InstanceFile file;
+	private List<Point> all;
+	private Polygon[] polygons;
+	private int next;
+
+	@Setup
+	public void setup() {
+		file = Instances.create(points, SETS, points);
+		all = new ArrayList<>(points);
+		for (int id = 0; id < points; id++) {
+			Point point = new Point(file.getX(id), file.getY(id));
+			point.setId(id);
+			all.add(point);
+		}
+		polygons = new Polygon[SETS];
+		for (int s = 0; s < SETS; s++)
+			polygons[s] = file.createPolygon(s);
+	}
+
+	@Benchmark
+	public Set scan() {
+		next = (next + 1) % SETS;
+		return new Set("Set", Color.GRAY, polygons[next], all);
+	}
+
+	@Benchmark
+	public List<int[]> members() {
+		return file.getMembers();
+	}
+}
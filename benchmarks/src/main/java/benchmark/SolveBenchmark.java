@@ -0,0 +1,96 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import solver.Cover;
+import solver.GreedySolver;
+import solver.Instance;
+import solver.LazyGreedySolver;
+import solver.LocalSearchSolver;
+import solver.ParallelGreedySolver;
+import solver.Monitor;
+import solver.Reducer;
+import solver.Reduction;
+
+/**
+ * Time of one greedy step and full solves of instances with one set for every 20 points.
+ * Greedy step counts uncovered elements of all sets on an empty coverage and covers the best set,
+ * that is the work of first step of plain greedy algorithm.
+ * Pipeline runs the same stages as {@link solver.AnytimeSolver} before its branch and bound search:
+ * {@link Reducer}, {@link LazyGreedySolver} on reduced instance, {@link LocalSearchSolver#improve} and expansion of cover.
+ * Branch and bound search is left out, because it runs until time limit of anytime solver.
+ * @author Majid Feyzi
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolveBenchmark {
+
+	// Number of points for each set
+	private static final int POINTS_PER_SET = 20;
+
+	@Param({"1000", "10000", "100000"})
+	private int points;
+
+	private Instance instance;
+
+	@Setup
+	public void setup() {
+		instance = Instances.create(points, points / POINTS_PER_SET, points).toInstance();
+	}
+
+	@Benchmark
+	public int greedyStep() {
+		long[] covered = instance.createCoverage();
+		int best = -1;
+		double gain = 0;
+		for (int set = 0; set < instance.size(); set++) {
+			double ratio = instance.countUncovered(set, covered) / instance.getCost(set);
+			if (ratio > gain) {
+				gain = ratio;
+				best = set;
+			}
+		}
+		if (best >= 0)
+			instance.cover(best, covered);
+		return best;
+	}
+
+	@Benchmark
+	public Cover greedy() {
+		return new GreedySolver().solve(instance);
+	}
+
+	@Benchmark
+	public Cover lazyGreedy() {
+		return new LazyGreedySolver().solve(instance);
+	}
+
+	@Benchmark
+	public Cover parallelGreedy() {
+		return new ParallelGreedySolver().solve(instance);
+	}
+
+	@Benchmark
+	public Cover pipeline() {
+		Reduction reduction = new Reducer().reduce(instance, Monitor.NONE);
+		Instance reduced = reduction.getInstance();
+		Cover cover = new LazyGreedySolver().solve(reduced, Monitor.NONE);
+		return reduction.expand(new LocalSearchSolver(new LazyGreedySolver()).improve(reduced, cover, Monitor.NONE));
+	}
+}
@@ -14,4 +14,27 @@ public class Config {
     public final static int LINE_THICKNESS = 3;
     public final static int HIGHLIGHTED_LINE_THICKNESS = LINE_THICKNESS * 3;
 
+    // Size of cells of spatial index of points
+    public final static int POINT_INDEX_CELL_SIZE = 32;
+
+    // Size of cells of spatial index of sets polygons
+    public final static int POLYGON_INDEX_CELL_SIZE = 64;
+
+    // Minimum number of points that are checked in parallel to find points of a set
+    public final static int PARALLEL_THRESHOLD = 4096;
+
+    // Time limit of solving problem in milliseconds and interval of notifying its progress
+    public final static int SOLVE_TIME_LIMIT = 1000;
+    public final static int PROGRESS_INTERVAL = 100;
+
+    // Start from repaired previous solution after adding points and sets instead of greedy solution
+    public final static boolean INCREMENTAL_SOLVE = true;
+
+    // Minimum interval between notifying changes to context in milliseconds (about 60 frames per second)
+    public final static int FRAME_INTERVAL = 16;
+
+    // Seed of first random instance and average number of sets that cover a location of random instances
+    public final static long RANDOM_SEED = 1;
+    public final static double RANDOM_OVERLAP = 2;
+
 }
@@ -2,6 +2,8 @@ package grid;
 
 import java.util.List;
 
+import solver.Progress;
+
 /**
  * Context abstract class to notify grid changes.
  * @author Majid Feyzi
@@ -14,6 +16,19 @@ public abstract class Context {
      * */
     public void onSetsChange(List<Set> sets) {}
 
+    /**
+     * This method notify progress of solving problem in background.
+     * It is called on event dispatch thread at most once in each progress interval.
+     * @param progress selected sets until now, fraction of covered points and size of best solution
+     * */
+    public void onSolveProgress(Progress progress) {}
+
+    /**
+     * This method notify that solving problem in background has been finished, failed or cancelled.
+     * It is called on event dispatch thread after last progress of the solve.
+     * */
+    public void onSolveStop() {}
+
     /**
      * This method notify result of algorithm after finish.
      * @param result result of algorithm
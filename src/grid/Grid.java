@@ -12,18 +12,31 @@ import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseMotionAdapter;
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.swing.AbstractAction;
 import javax.swing.JComponent;
 import javax.swing.KeyStroke;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 
 import grid.history.Action;
 import grid.history.History;
+import solver.AnytimeSolver;
+import solver.Cover;
+import solver.Instance;
 
 /**
  * Grid is a component that user can draw objects such as line, point and etc on it.
@@ -42,6 +55,12 @@ public class Grid extends JComponent {
 	// User specified sites or point in plane
 	private final List<Point> points = new ArrayList<>();
 
+	// Points by their packed coordinates to find a point on a location
+	private final Map<Long, Point> locations = new HashMap<>();
+
+	// Spatial index of points to find points inside of new sets
+	private final PointIndex pointIndex = new PointIndex(Config.POINT_INDEX_CELL_SIZE);
+
 	// Start or end vertices of lines
 	private final List<Point> vertices = new ArrayList<>();
 
@@ -50,16 +69,54 @@ public class Grid extends JComponent {
 
 	// Sets that user created using points and polygons
 	private final List<Set> sets = new ArrayList<>();
+
+	// Sets of each point that is updated with every change of points and sets
+	private final SetIndex index = new SetIndex();
+
+	// Spatial index of sets to find sets of new points
+	private final PolygonIndex polygonIndex = new PolygonIndex(Config.POLYGON_INDEX_CELL_SIZE);
 	
-	// Temporary sets that is using to show step by step solution
-	private List<Set> tsets = new ArrayList<>();
-	
+	// Solver that select sets of solution in background thread until time limit
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "Set cover solver");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final AnytimeSolver solver = new AnytimeSolver(executor);
+
+	// Running solve or null if problem is not solving and number of solves to ignore results of cancelled solves
+	private volatile CompletableFuture<Cover> solving;
+	private volatile int solves;
+
+	// Selected sets of solver and current step that is using to show step by step solution
+	private Cover cover;
+	private int step;
+
+	// Whether previous solution is repaired after adding points and sets instead of solving problem again
+	private boolean incremental = Config.INCREMENTAL_SOLVE;
+
+	// Action that is run on event dispatch thread after running solve, that shows next step or whole solution
+	private Runnable afterSolve;
+
+	// Sets of last solution that is repaired in incremental mode or null
+	private int[] previous;
+
+	// Number of random instances that has been generated, that is added to seed of next one
+	private int generated;
+
+	// Index of set of shown steps of solution that has covered each point by point id or -1 if point is not covered.
+	// It is kept apart from points, so it is reset by filling an array without touching points.
+	private int[] coveredBy = new int[0];
+
 	// Result string that hold result sets names to show to user
-	private String result = "";
+	private final StringBuilder result = new StringBuilder();
 	
-	// Timer to solve problem automatically and step by step
+	// Timer to solve problem automatically and step by step on event dispatch thread
 	private Timer timer;
 
+	// Updates of context that are coalesced and notified at most once in each frame
+	private final UpdateQueue updates = new UpdateQueue(Config.FRAME_INTERVAL);
+
 	// Current color for drawing on plane
 	private Color color;
 
@@ -103,8 +160,7 @@ public class Grid extends JComponent {
 						addVertex(new Point(e.getX(), e.getY()));
 					} else {
 						Point point = new Point(e.getX(), e.getY());
-						addPoint(point);
-						if (sets.size() > 0)
+						if (addPoint(point) && sets.size() > 0)
 							addPointToSets(point);
 					}
 				} else {
@@ -183,16 +239,21 @@ public class Grid extends JComponent {
 		history.clear();
 		vertices.clear();
 		points.clear();
+		locations.clear();
+		pointIndex.clear();
 		lines.clear();
-		tsets.clear();
-		result = "";
-		
-		if (timer != null)
-			timer.cancel();
+		resetSolution();
+		stopAutoSolve();
+		previous = null;
+
+		// Pending updates of context belong to removed points and sets
+		updates.clear();
 
 		// Remove all sets and notify to context
 		sets.clear();
-		context.onSetsChange(sets);
+		index.clear();
+		polygonIndex.clear();
+		notifySetsChange();
 		
 		graphics.setPaint(Color.white);
 		graphics.fillRect(0, 0, getSize().width, getSize().height);
@@ -202,14 +263,35 @@ public class Grid extends JComponent {
 	
 	/**
 	 * Add points to canvas with specified coordinates and color on click.
+	 * Point will not be added if there is another point on its location.
 	 * @param point point to show on plane
+	 * @return true if point has been added
 	 * */
-	public void addPoint(Point point) {
+	public boolean addPoint(Point point) {
+		if (!insertPoint(point))
+			return false;
+
 		graphics.setPaint(Color.black);
-		history.push(Action.AddPoint);
-		points.add(point);
 		graphics.fillOval(point.getX() - (Config.POINT_RADIUS / 2), point.getY() - (Config.POINT_RADIUS / 2), Config.POINT_RADIUS, Config.POINT_RADIUS);
 		repaint();
+		return true;
+	}
+
+	/**
+	 * Add point to points and indices of points without drawing it.
+	 * @param point point to add
+	 * @return true if point has been added
+	 * */
+	private boolean insertPoint(Point point) {
+		if (locations.putIfAbsent(point.getKey(), point) != null)
+			return false;
+
+		history.push(Action.AddPoint);
+		point.setId(points.size());
+		points.add(point);
+		index.addPoint(point);
+		pointIndex.add(point);
+		return true;
 	}
 
 	/**
@@ -249,63 +331,196 @@ public class Grid extends JComponent {
 
 		// After create set, all vertex and line actions must be remove from history
 		history.removeUntil(Action.CreateSet, Action.AddPoint);
-		history.push(Action.CreateSet);
 
 		// Add new set to list of exist sets and assign a name to it
 		String name = "Set " + (sets.size() + 1);
 		Polygon polygon = new Polygon(lines);
-		Set set = new Set(name, this.color, polygon, points);
-		sets.add(set);
+		addSet(new Set(name, this.color, polygon, pointIndex));
 
 		// Notifying sets changes to the context
-		context.onSetsChange(sets);
+		notifySetsChange();
 
 		// Clear set lines and points to make able the user for generate other sets
 		vertices.clear();
 		lines.clear();
-		
-		// Clear temporary sets 
-		tsets.clear();
+
+		// Previous solution is not valid anymore
+		resetSolution();
 	}
 	
+	/**
+	 * Add set to sets and indices of sets.
+	 * @param set set to add
+	 * */
+	private void addSet(Set set) {
+		history.push(Action.CreateSet);
+		sets.add(set);
+		index.addSet(set);
+		polygonIndex.add(set);
+	}
+
+	/**
+	 * Replace all points and sets of grid with points and sets of an instance file.
+	 * If membership of sets has been saved in file, points inside of polygons are not checked again.
+	 * Points that are on location of previous points are merged with them.
+	 * Points and sets are added at once and grid is drawn once after adding all of them.
+	 * @param file instance file to load
+	 * */
+	public void load(InstanceFile file) {
+		clear();
+
+		// Points of file by their ids in file
+		Point[] loaded = new Point[file.getPointCount()];
+		for (int id = 0; id < loaded.length; id++) {
+			Point point = new Point(file.getX(id), file.getY(id));
+			loaded[id] = insertPoint(point) ? point : locations.get(point.getKey());
+		}
+
+		for (int s = 0; s < file.getSetCount(); s++) {
+			String name = "Set " + (sets.size() + 1);
+			Color color = new Color(file.getColor(s));
+			Polygon polygon = file.createPolygon(s);
+
+			Set set;
+			if (file.getMembership() == InstanceFile.Membership.NONE) {
+				set = new Set(name, color, polygon, pointIndex);
+			} else {
+				BitSet seen = new BitSet();
+				List<Point> inside = new ArrayList<>();
+				for (int id : file.getMembers(s))
+					if (!seen.get(loaded[id].getId())) {
+						seen.set(loaded[id].getId());
+						inside.add(loaded[id]);
+					}
+				set = Set.withPoints(name, color, polygon, inside);
+			}
+			set.setCost(file.getCost(s));
+			addSet(set);
+		}
+
+		redrawAllGraphics();
+	}
+
+	/**
+	 * Get sets of shown solution or last solution.
+	 * @return indices of sets of solution in order of steps or null if problem has not been solved
+	 * */
+	public int[] getSolution() {
+		return cover != null ? cover.getSets() : previous == null ? null : previous.clone();
+	}
+
+	/**
+	 * Write steps of shown solution or last solution.
+	 * @param out writer of solution
+	 * @param format text format of solution
+	 * @return false if problem has not been solved
+	 * @throws IOException if writer fails
+	 * */
+	public boolean writeSolution(Writer out, TextFormat format) throws IOException {
+		int[] solution = getSolution();
+		if (solution == null)
+			return false;
+
+		InstanceText.writeCover(createInstance(), solution, out, format);
+		return true;
+	}
+
+	/**
+	 * Create instance file of points and sets of grid with membership of sets.
+	 * @return instance file that can be saved
+	 * */
+	public InstanceFile toFile() {
+		int[] coordinates = new int[2 * points.size()];
+		for (Point point : points) {
+			coordinates[2 * point.getId()] = point.getX();
+			coordinates[2 * point.getId() + 1] = point.getY();
+		}
+
+		int[] polygons = new int[sets.size() + 1];
+		List<Line> edges = new ArrayList<>();
+		int[] colors = new int[sets.size()];
+		double[] costs = new double[sets.size()];
+		List<int[]> members = new ArrayList<>();
+		for (int s = 0; s < sets.size(); s++) {
+			Set set = sets.get(s);
+			edges.addAll(set.getPolygon().getEdges());
+			polygons[s + 1] = edges.size();
+			colors[s] = set.getColor().getRGB() & 0xFFFFFF;
+			costs[s] = set.getCost();
+			members.add(set.getMembership().stream().toArray());
+		}
+
+		int[] vertices = new int[2 * edges.size()];
+		for (int i = 0; i < edges.size(); i++) {
+			vertices[2 * i] = edges.get(i).getStart().getX();
+			vertices[2 * i + 1] = edges.get(i).getStart().getY();
+		}
+
+		return new InstanceFile(coordinates, polygons, vertices, colors, costs, members);
+	}
+
 	/**
 	 * Add new point to set.
 	 * To detect that a point is inside of a set or not, i use the count of sides intersection.
-	 * Point intersection with all lines in all sets must be checked.
+	 * Only sets that their bounding box contains the point are checked using spatial index of sets.
 	 * @param point point to add
 	 * */
 	public void addPointToSets(Point point) {
 
-		// All polygons in all sets must be checked
-		for (Set set : sets) {
+		// Polygons of candidate sets must be checked
+		for (Set set : polygonIndex.findCandidates(point)) {
 
 			// Determine that point is inside of set's polygon or not and then add it to set points
 			if (set.getPolygon().isInsideOfPolygon(point)) {
-				List<Point> spoints = set.getPoints();
-				spoints.add(point);
-				set.setPoints(spoints);
+				set.addPoint(point);
 				set.setName(set.getName());
+				index.addSet(set, point);
 			}
-			
-			// Clear temporary sets 
-			tsets.clear();
 		}
 
+		// Previous solution is not valid anymore
+		resetSolution();
+
 		// Notifying sets changes to the context
-		context.onSetsChange(sets);
+		notifySetsChange();
 	}
 
 	/**
 	 * Remove point from set/sets that is inside of them.
+	 * Only sets that contain the point are checked using index of sets.
 	 * @param point point to remove
 	 * */
 	public void removePointFromSets(Point point) {
+		for (Set set : index.getSets(point))
+			set.removePoint(point);
+	}
 
-		// All sets must be check
-		for (Set set : sets) {
-			List<Point> spoints = set.getPoints();
-			spoints.remove(point);
-		}
+	/**
+	 * Change pool that finds points of new sets in parallel.
+	 * Common fork/join pool is used by default.
+	 * @param pool pool to use
+	 * */
+	public void setPool(ForkJoinPool pool) {
+		pointIndex.setPool(pool);
+	}
+
+	/**
+	 * Change incremental mode of solving.
+	 * In incremental mode, previous solution is repaired locally after adding points and sets instead of
+	 * greedy solution from scratch, and in both modes solution is improved until time limit of solving.
+	 * @param incremental true to repair previous solution
+	 * */
+	public void setIncremental(boolean incremental) {
+		this.incremental = incremental;
+	}
+
+	/**
+	 * Get sets that contain a point.
+	 * @param point point of grid
+	 * @return unmodifiable list of sets that contain point
+	 * */
+	public List<Set> getSetsOf(Point point) {
+		return index.getSets(point);
 	}
 	
 	/**
@@ -345,17 +560,18 @@ public class Grid extends JComponent {
 		for (Line line : lines)
 			graphics.drawLine(line.getStart().getX(), line.getStart().getY(), line.getEnd().getX(), line.getEnd().getY());
 		
+		// Redraw covered points with color of set that has covered them
+		for (int id = 0; id < coveredBy.length && id < points.size(); id++) {
+			if (coveredBy[id] >= 0) {
+				Point point = points.get(id);
+				graphics.setPaint(sets.get(coveredBy[id]).getColor());
+				graphics.fillOval(point.getX() - (Config.POINT_RADIUS / 2), point.getY() - (Config.POINT_RADIUS / 2), Config.POINT_RADIUS, Config.POINT_RADIUS);
+			}
+		}
+
 		// Redraw sets
 		for (Set set : sets) {
 
-			// Redraw set removed points with its colors
-			for (Point point : set.getPoints()) {
-				if (point.isColored()) {
-					graphics.setPaint(point.getColor());
-					graphics.fillOval(point.getX() - (Config.POINT_RADIUS / 2), point.getY() - (Config.POINT_RADIUS / 2), Config.POINT_RADIUS, Config.POINT_RADIUS);
-				}
-			}
-			
 			// Redraw set sides with set color
 			graphics.setPaint(set.getColor());
 			for (Line edge : set.getPolygon().getEdges()) {
@@ -371,7 +587,7 @@ public class Grid extends JComponent {
 		repaint();
 
 		// Notifying sets changes to the context
-		context.onSetsChange(sets);
+		notifySetsChange();
 		
 		// Change focus to grid
 		requestFocus();
@@ -386,12 +602,7 @@ public class Grid extends JComponent {
 		// First clear grid graphics 
 		graphics.setPaint(Color.white);
 		graphics.fillRect(0, 0, getSize().width, getSize().height);
-		
-		// Change main sets points state to show removed points in set color
-		for (Set s : sets)
-			if (s.getName().equals(set.getName()))
-				s.setPoints(set.getPoints());
-		
+
 		redrawAllGraphics();
 		
 		// Redraw set with new border size to highlight it
@@ -409,107 +620,162 @@ public class Grid extends JComponent {
 	
 	/**
 	 * Solve the problem and show result step by step.
+	 * The problem is solved once by solver in background and each call shows next selected set of the solution.
 	 * */
 	public void next() {
 
-		// Copy sets to new temporary list to do operations on it
-		if (tsets.size() == 0) {
-			tsets = new ArrayList<>();
-			for (Set set : sets) {
-				List<Point> newPoints = new ArrayList<>();
-				for (Point point : set.getPoints()) {
-					Point newPoint = new Point(point.getX(), point.getY());
-					newPoint.setColor(point.getColor());
-					newPoints.add(newPoint);
-				}
-				Set newSet = new Set(set.getName(), set.getColor(), set.getPolygon(), newPoints);
-				tsets.add(newSet);
-			}	
+		// Solve the problem in background and show first step when solution is ready
+		if (cover == null) {
+			if (solving == null)
+				solve(this::next);
+			return;
 		}
 
-		// Get that all sets has been removed or not
-		boolean isAllRemoved = true;
-		for (Set set : tsets) {
-			if (set.getNonRemovedPoints().size() > 0 && !set.isRemoved()) {
-				isAllRemoved = false;
-				break;
-			}
-		}
-		
-		if (!isAllRemoved) {
+		if (step < cover.size()) {
+			highlightSet(showStep());
+		} else {
 
-			// Sort the sets order by its points count
-			tsets.sort(new Sort().reversed());
-			for (Set set : tsets) {
+			// Keep result before reset solution to show it to user
+			String result = this.result.toString();
+
+			// Points must return to non covered state to show step by step solution in next button click
+			resetSolution();
 
-				// Logically remove set, if it doesn't have any point
-				if (set.getNonRemovedPoints().size() == 0)
-					set.setRemoved(true);
-					
-				// Don't use removed sets in solution
-				if (set.isRemoved()) 
-					continue;
-				
-				// Highlight set and remove it logically
-				set.setRemoved(true);
-				highlightSet(set);
-				
-				// Add set name to results
-				result += set.getName() + "\n";
-				
-				// Remove this selected set shared points from other sets
-				for (Set s : tsets) {
-					if (!s.isRemoved() && s.getNonRemovedPoints().size() > 0) {
-						
-						// All points of currently selected set must be check with other sets non removed points only
-						List<Point> points1 = set.getPoints();
-						List<Point> points2 = s.getNonRemovedPoints();
-						for (Point p1 : points1) {
-							for (Point p2 : points2) {
-								if (p1.getX() == p2.getX() && p1.getY() == p2.getY()) {
-									
-									// Both points must be colored if don't have any color
-									if (!p1.isColored()) p1.setColor(set.getColor());
-									if (!p2.isColored()) p2.setColor(set.getColor());
-								}
-							}
-						}
-					}
-				}
-				
-				break;
-			}
-		} else {
-			
-			// Reset sets remove property to show step by step solution in next button click
-			for (Set set : tsets) 
-				set.setRemoved(false);
-			
-			// Points of main sets that has been removed must return to non removed state and it's color must be null
-			for (Set set : sets)
-				for (Point point : set.getPoints())
-					point.setColor(null);
-			
 			// Stop timer to auto solve problem after finish solving
-			if (timer != null) {
-				timer.cancel();
-				timer = null;
-			}
-			
+			stopAutoSolve();
+
 			redrawAllGraphics();
 
 			// Send sets names as the final result to context
-			if (!result.isEmpty()) {
+			if (!result.isEmpty())
 				context.onSolveComplete(result);
-				result = "";
+		}
+	}
+
+	/**
+	 * Solve the problem and show final solution without showing its steps.
+	 * The solution remains on grid until next change or next step.
+	 * */
+	public void finish() {
+
+		// Solve the problem in background and show solution when it is ready,
+		// a running solve that has been started by next step shows solution too
+		if (cover == null) {
+			if (solving == null)
+				solve(this::finish);
+			else
+				afterSolve = this::finish;
+			return;
+		}
+
+		while (step < cover.size())
+			showStep();
+		redrawAllGraphics();
+
+		// Send sets names as the final result to context, next step only resets the solution
+		String result = this.result.toString();
+		this.result.setLength(0);
+		if (!result.isEmpty())
+			context.onSolveComplete(result);
+	}
+
+	/**
+	 * Show next step of solution without drawing it.
+	 * Set points that has not been covered by previous sets are colored and set name is added to results.
+	 * @return set of shown step
+	 * */
+	private Set showStep() {
+		int index = cover.get(step++);
+		Set set = sets.get(index);
+		if (coveredBy.length < points.size()) {
+			int length = coveredBy.length;
+			coveredBy = Arrays.copyOf(coveredBy, Math.max(points.size(), 2 * length));
+			Arrays.fill(coveredBy, length, coveredBy.length, -1);
+		}
+
+		BitSet membership = set.getMembership();
+		for (int id = membership.nextSetBit(0); id >= 0; id = membership.nextSetBit(id + 1))
+			if (coveredBy[id] < 0)
+				coveredBy[id] = index;
+
+		// Add set name to results
+		result.append(set.getName()).append('\n');
+		return set;
+	}
+
+	/**
+	 * Solve the problem in background until time limit of solving.
+	 * Progress of solving is notified to context and selected sets are kept to show them step by step.
+	 * @param then action that is run on event dispatch thread after solving
+	 * */
+	private void solve(Runnable then) {
+		int id = ++solves;
+		afterSolve = then;
+		solving = solver.solve(createInstance(), incremental ? previous : null, Config.SOLVE_TIME_LIMIT, Config.PROGRESS_INTERVAL,
+				progress -> updates.post(Update.PROGRESS, () -> {
+					if (id == solves && solving != null)
+						context.onSolveProgress(progress);
+				}));
+		solving.whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+
+			// Solution of a cancelled solve must be ignored
+			if (id != solves)
+				return;
+
+			solving = null;
+			context.onSolveStop();
+			if (error == null) {
+				cover = result;
+				step = 0;
+				afterSolve.run();
 			}
+		}));
+	}
+
+	/**
+	 * Create solver instance from sets of grid.
+	 * Each point of grid is an element of universe that its id is its index in points list.
+	 * @return instance of set cover problem
+	 * */
+	private Instance createInstance() {
+		List<BitSet> memberships = new ArrayList<>();
+		double[] costs = new double[sets.size()];
+		for (Set set : sets) {
+			costs[memberships.size()] = set.getCost();
+			memberships.add(set.getMembership());
 		}
+
+		return Instance.fromMemberships(points.size(), memberships, costs);
+	}
+
+	/**
+	 * Remove current solution and return points to non covered state.
+	 * */
+	private void resetSolution() {
+		if (solving != null) {
+			solving.cancel(true);
+			solving = null;
+			solves++;
+			context.onSolveStop();
+		}
+
+		// Keep last solution to repair it after next changes
+		if (cover != null)
+			previous = cover.getSets();
+		cover = null;
+		step = 0;
+		result.setLength(0);
+		Arrays.fill(coveredBy, -1);
 	}
 	
 	/**
 	 * Undo actions that are performed.
 	 * */
 	private void undo() {
+
+		// Previous solution is not valid anymore
+		resetSolution();
+
 		if (history.size() > 0) {
 
 			Action action = history.pop();
@@ -522,6 +788,9 @@ public class Grid extends JComponent {
 					removePointFromSets(point);
 					
 					points.remove(points.size() - 1);
+					locations.remove(point.getKey());
+					index.removeLastPoint();
+					pointIndex.remove(point);
 				}
 				break;
 			case AddVertex:
@@ -540,7 +809,13 @@ public class Grid extends JComponent {
 				break;
 			case CreateSet:
 				if (sets.size() > 0) {
-					sets.remove(sets.size() - 1);
+					Set set = sets.remove(sets.size() - 1);
+					index.removeSet(set);
+					polygonIndex.remove(set);
+
+					// Last solution must not refer to removed set
+					if (previous != null)
+						previous = Arrays.stream(previous).filter(s -> s < sets.size()).toArray();
 				}
 				break;
 			default:
@@ -552,30 +827,64 @@ public class Grid extends JComponent {
 		} else { 
 			clear();
 		}
-		
-		// Clear temporary sets 
-		tsets.clear();
 	}
 	
 	/**
 	 * Solve set cover problem step by step and automatically.
+	 * Steps are shown by a swing timer on event dispatch thread while the problem is solved in background.
+	 * If auto solve is running, its speed is changed.
+	 * @param speed speed of showing steps, instant speed only shows final solution
 	 * */
-	public void startAutoSolve() {
-		if (timer == null) {
-			timer = new Timer();
-			timer.schedule(new TimerTask() {
-				
-				@Override
-				public void run() {
-					next();
-				}
-			}, 0, 1000);
+	public void startAutoSolve(Speed speed) {
+		if (speed == Speed.Instant) {
+			stopAutoSolve();
+			finish();
+		} else if (timer == null) {
+			timer = new Timer(speed.getInterval(), e -> next());
+			timer.setInitialDelay(0);
+			timer.start();
+		} else {
+			timer.setDelay(speed.getInterval());
 		}
 	}
+
+	/**
+	 * Check that problem is solving automatically or not.
+	 * @return true if steps of solution are showing automatically
+	 * */
+	public boolean isAutoSolving() {
+		return timer != null;
+	}
+
+	/**
+	 * Stop solving problem automatically.
+	 * */
+	private void stopAutoSolve() {
+		if (timer != null) {
+			timer.stop();
+			timer = null;
+		}
+	}
+
+	/**
+	 * Notify sets changes to context in next frame.
+	 * Many changes of sets in a frame such as creating random sets or showing steps of solution are notified once.
+	 * */
+	private void notifySetsChange() {
+		updates.post(Update.SETS, () -> context.onSetsChange(sets));
+	}
+
+	/**
+	 * Kinds of updates of context that are coalesced.
+	 * */
+	private enum Update {
+		SETS, PROGRESS
+	}
 	
 	/**
 	 * Generate random points and sets.
 	 * x and y and width and height specifies points scale on grid.
+	 * Each call generates another instance, but same calls after starting program generate same instances.
 	 * @param count count of points that must be generated
 	 * @param x distance from left
 	 * @param y distance from top
@@ -583,77 +892,10 @@ public class Grid extends JComponent {
 	 * @param height height of region that points will be located inside it
 	 * */
 	public void generateRandomSets(int count, int x, int y, int width, int height) {
-		
-		// First clear all data
-		clear();
-		
-		// Second we need create points
-		int counter = 1;
-		Random random = new Random();
-		while (counter <= count) {
-			int rx = x + random.nextInt(width - x);
-			int ry = y + random.nextInt(height - y);
-			Point point = new Point(rx, ry);
-			if (!points.contains(point)) {
-				addPoint(point);
-				counter++;
-			}
-		}
-		
-		// Copy points to temporary list
-		List<Point> ps = new ArrayList<>(points);
-		
-		// Third create sets until cover all points
-		int scount = (count / 4) + random.nextInt(count > 1 ? count / 2 : 1);
-		while (ps.size() > 0) {
-			
-			// Randomly generate line points (vertices) of sets
-			int rx = x + random.nextInt(width - x);
-			int ry = y + random.nextInt(height - y);
-			
-			// Compute rectangle line points
-			Point p1 = new Point(rx - (100 + random.nextInt((rx - 100) > 0 ? (rx - 100) : 1)), ry - (100 + random.nextInt((ry - 100) > 0 ? (ry - 100) : 1)));
-			Point p2 = new Point(rx + (80 + random.nextInt(50)), ry - (80 + random.nextInt(50)));
-			Point p3 = new Point(rx + (50 + random.nextInt(50)), ry + (50 + random.nextInt(50)));
-			Point p4 = new Point(rx - (100 + random.nextInt((rx - 100) > 0 ? (rx - 100) : 1)), ry + (50 + random.nextInt((getHeight() - ry - 100) > 0 ? (getHeight() - ry - 100) : 1)));
-			
-			// Create sets lines (sides)
-			Line l1 = new Line (p1, p2);
-			Line l2 = new Line (p2, p3);
-			Line l3 = new Line (p3, p4);
-			Line l4 = new Line (p4, p1);
-
-			// Add line points and lines on grid (Note: the order of add is important because of undo implementation)
-			addVertex(p1);
-			drawLine(l1);
-			drawLine(l2);
-			drawLine(l3);
-			drawLine(l4);
-			
-			// Create set and change color for next set
-			createSet();
-			refreshColor();
-			
-			// Remove points that has been covered at least by one set
-			Set set = sets.get(sets.size() - 1);
-			if (set.getPoints().size() == 0)
-
-				// Remove empty set and undo create set operation
-				undo();
-			else
-				ps.removeAll(set.getPoints());
-
-			// If sets size is equal to random generated size an there is point without set, so operation must be continued
-			if (sets.size() > scount && ps.size() > 0) {
-				
-				sets.clear();
-				history.removeUntil(Action.CreateSet);
-					
-				ps = new ArrayList<>(points);
-			}
-		}
-		
-		redrawAllGraphics();
+		InstanceGenerator generator = new InstanceGenerator(Config.RANDOM_SEED + generated++);
+		generator.setRegion(x, y, Math.max(1, width - x), Math.max(1, height - y));
+		generator.setOverlap(Config.RANDOM_OVERLAP);
+		load(generator.generate(count, Math.max(1, count / 4)));
 	}
 	
 	/**
@@ -0,0 +1,537 @@
+package grid;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import solver.Instance;
+
+/**
+ * Versioned binary file of points and polygons of sets that can be saved and loaded without drawing them.
+ * All numbers are little endian and file starts with a header of 64 bytes:
+ * <pre>
+ * int magic "SCVR", int version, int membership kind, int number of points, int number of sets, int reserved,
+ * long number of vertices, long number of membership entries (element ids of CSR or words of bitmaps)
+ * </pre>
+ * Then these sections come in order and each of them starts at a multiple of 8 bytes:
+ * <pre>
+ * points        int[2 * points]   x and y of each point, index of point is its id
+ * polygons      int[sets + 1]     index of first vertex of each polygon in vertices
+ * vertices      int[2 * vertices] x and y of each vertex
+ * colors        int[sets]         rgb color of each set
+ * costs         double[sets]      cost of each set
+ * membership    CSR:    long[sets + 1] offsets and int[entries] sorted element ids of sets
+ *               BITMAP: int[sets] first word and long[sets + 1] offsets of words of sets and long[entries] words
+ * </pre>
+ * Membership is optional and when it is saved, points of sets are not found again by checking polygons.
+ * Each section of a loaded file is a view of a memory mapped region of file, so loading doesn't copy points or sets,
+ * but offsets, costs and members are checked once while loading.
+ * @author Majid Feyzi
+ * */
+public class InstanceFile {
+
+	/**
+	 * Kinds of precomputed membership of sets.
+	 * CSR keeps sorted element ids of each set and bitmap keeps words of each set between its first and last element.
+	 * */
+	public enum Membership {
+		NONE, CSR, BITMAP
+	}
+
+	// "SCVR" as magic number and current version of format
+	private static final int MAGIC = 0x53435652;
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 64;
+
+	private final int pointCount;
+	private final int setCount;
+
+	// Sections of file
+	private final IntBuffer points;
+	private final IntBuffer polygons;
+	private final IntBuffer vertices;
+	private final IntBuffer colors;
+	private final DoubleBuffer costs;
+
+	// Membership sections, offsets are offsets of element ids in CSR and offsets of words in bitmaps
+	private final Membership membership;
+	private final LongBuffer offsets;
+	private final IntBuffer elements;
+	private final IntBuffer firstWords;
+	private final LongBuffer words;
+
+	/**
+	 * Create instance file in memory without membership.
+	 * @param points x and y of each point
+	 * @param polygons index of first vertex of each polygon and number of vertices at the end
+	 * @param vertices x and y of each vertex
+	 * @param colors rgb color of each set
+	 * @param costs cost of each set
+	 * */
+	public InstanceFile(int[] points, int[] polygons, int[] vertices, int[] colors, double[] costs) {
+		this(points, polygons, vertices, colors, costs, null);
+	}
+
+	/**
+	 * Create instance file in memory with membership.
+	 * @param points x and y of each point
+	 * @param polygons index of first vertex of each polygon and number of vertices at the end
+	 * @param vertices x and y of each vertex
+	 * @param colors rgb color of each set
+	 * @param costs cost of each set
+	 * @param members sorted ids of points of each set or null if membership must be found by polygons
+	 * */
+	public InstanceFile(int[] points, int[] polygons, int[] vertices, int[] colors, double[] costs, List<int[]> members) {
+		if (points.length % 2 != 0 || vertices.length % 2 != 0)
+			throw new IllegalArgumentException("Coordinates must be pairs of x and y");
+		if (polygons.length == 0 || colors.length != polygons.length - 1 || costs.length != polygons.length - 1)
+			throw new IllegalArgumentException("Number of polygons, colors and costs must be same");
+		if (polygons[polygons.length - 1] != vertices.length / 2)
+			throw new IllegalArgumentException("Last polygon offset must be number of vertices");
+		if (members != null && members.size() != colors.length)
+			throw new IllegalArgumentException("Number of memberships must be equal to number of sets");
+
+		this.pointCount = points.length / 2;
+		this.setCount = colors.length;
+		this.points = IntBuffer.wrap(points);
+		this.polygons = IntBuffer.wrap(polygons);
+		this.vertices = IntBuffer.wrap(vertices);
+		this.colors = IntBuffer.wrap(colors);
+		this.costs = DoubleBuffer.wrap(costs);
+		this.firstWords = null;
+		this.words = null;
+
+		if (members == null) {
+			this.membership = Membership.NONE;
+			this.offsets = null;
+			this.elements = null;
+		} else {
+			long[] offsets = new long[setCount + 1];
+			for (int set = 0; set < setCount; set++)
+				offsets[set + 1] = offsets[set] + members.get(set).length;
+			if (offsets[setCount] > Integer.MAX_VALUE)
+				throw new IllegalArgumentException("Too many membership entries: " + offsets[setCount]);
+
+			int[] elements = new int[(int) offsets[setCount]];
+			for (int set = 0; set < setCount; set++)
+				System.arraycopy(members.get(set), 0, elements, (int) offsets[set], members.get(set).length);
+
+			this.membership = Membership.CSR;
+			this.offsets = LongBuffer.wrap(offsets);
+			this.elements = IntBuffer.wrap(elements);
+		}
+	}
+
+	private InstanceFile(FileChannel channel) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		while (header.hasRemaining())
+			if (channel.read(header) < 0)
+				throw new IOException("File is shorter than header of instance file");
+		header.flip();
+
+		if (header.getInt() != MAGIC)
+			throw new IOException("File is not an instance file");
+		int version = header.getInt();
+		if (version != VERSION)
+			throw new IOException("Version " + version + " of instance file is not supported");
+		int kind = header.getInt();
+		if (kind < 0 || kind >= Membership.values().length)
+			throw new IOException("Unknown membership kind " + kind);
+		this.membership = Membership.values()[kind];
+		this.pointCount = header.getInt();
+		this.setCount = header.getInt();
+		header.getInt();
+		long vertexCount = header.getLong();
+		long entries = header.getLong();
+		if (pointCount < 0 || setCount < 0 || vertexCount < 0 || entries < 0)
+			throw new IOException("Header of instance file is corrupted");
+
+		Sections sections = new Sections(channel, HEADER_SIZE);
+		this.points = sections.map(2L * pointCount, Integer.BYTES).asIntBuffer();
+		this.polygons = sections.map(setCount + 1L, Integer.BYTES).asIntBuffer();
+		this.vertices = sections.map(2L * vertexCount, Integer.BYTES).asIntBuffer();
+		this.colors = sections.map(setCount, Integer.BYTES).asIntBuffer();
+		this.costs = sections.map(setCount, Double.BYTES).asDoubleBuffer();
+
+		switch (membership) {
+		case CSR:
+			this.offsets = sections.map(setCount + 1L, Long.BYTES).asLongBuffer();
+			this.elements = sections.map(entries, Integer.BYTES).asIntBuffer();
+			this.firstWords = null;
+			this.words = null;
+			break;
+		case BITMAP:
+			this.firstWords = sections.map(setCount, Integer.BYTES).asIntBuffer();
+			this.offsets = sections.map(setCount + 1L, Long.BYTES).asLongBuffer();
+			this.words = sections.map(entries, Long.BYTES).asLongBuffer();
+			this.elements = null;
+			break;
+		default:
+			this.offsets = null;
+			this.elements = null;
+			this.firstWords = null;
+			this.words = null;
+		}
+
+		validate(vertexCount, entries);
+	}
+
+	/**
+	 * Check sections of a loaded file, so an invalid file is rejected before anything reads it.
+	 * Offsets must start at zero, never decrease and end at number of entries, costs must be finite and non-negative,
+	 * and members must be sorted ids of points.
+	 * @throws IOException if a section is invalid
+	 * */
+	private void validate(long vertexCount, long entries) throws IOException {
+		if (polygons.get(0) != 0 || polygons.get(setCount) != vertexCount)
+			throw new IOException("Polygons of instance file are corrupted");
+		for (int set = 0; set < setCount; set++) {
+			if (polygons.get(set + 1) < polygons.get(set))
+				throw new IOException("Polygon offsets of instance file are corrupted at set " + set);
+			double cost = costs.get(set);
+			if (!(cost >= 0) || Double.isInfinite(cost))
+				throw new IOException("Cost " + cost + " of set " + set + " is not a finite non-negative number");
+		}
+		if (offsets == null)
+			return;
+
+		if (offsets.get(0) != 0 || offsets.get(setCount) != entries)
+			throw new IOException("Membership of instance file is corrupted");
+		int wordsOfPoints = (pointCount + 63) >>> 6;
+		for (int set = 0; set < setCount; set++) {
+			long from = offsets.get(set), to = offsets.get(set + 1);
+			if (to < from)
+				throw new IOException("Membership offsets of instance file are corrupted at set " + set);
+
+			if (membership == Membership.CSR) {
+				int previous = -1;
+				for (long i = from; i < to; i++) {
+					int id = elements.get((int) i);
+					if (id <= previous || id >= pointCount)
+						throw new IOException("Member " + id + " of set " + set + " is not a sorted id of a point");
+					previous = id;
+				}
+			} else {
+				int first = firstWords.get(set);
+				if (first < 0 || first + (to - from) > wordsOfPoints)
+					throw new IOException("Membership words of set " + set + " are out of points");
+
+				// Only bits of last word of points can be ids that are not points
+				if (to > from && first + (to - from) == wordsOfPoints && (pointCount & 63) != 0
+						&& (words.get((int) to - 1) & (-1L << pointCount)) != 0)
+					throw new IOException("Membership of set " + set + " has ids that are not points");
+			}
+		}
+	}
+
+	/**
+	 * Load instance file by mapping it into memory.
+	 * Mapped regions remain valid after loading, even though file channel is closed.
+	 * @param path path of file
+	 * @return loaded instance file
+	 * @throws IOException if file can't be read or it is not a valid instance file
+	 * */
+	public static InstanceFile load(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return new InstanceFile(channel);
+		}
+	}
+
+	/**
+	 * Save instance file.
+	 * If membership is saved and it is not available, it is found by checking polygons.
+	 * A loaded file must not be saved on itself, because its sections are mapped from it.
+	 * @param path path of file
+	 * @param membership kind of membership to save
+	 * @throws IOException if file can't be written
+	 * */
+	public void save(Path path, Membership membership) throws IOException {
+		List<int[]> members = membership == Membership.NONE ? null : getMembers();
+		long[] offsets = new long[setCount + 1];
+		int[] firstWords = new int[setCount];
+		if (membership == Membership.CSR) {
+			for (int set = 0; set < setCount; set++)
+				offsets[set + 1] = offsets[set] + members.get(set).length;
+		} else if (membership == Membership.BITMAP) {
+			for (int set = 0; set < setCount; set++) {
+				int[] ids = members.get(set);
+				firstWords[set] = ids.length == 0 ? 0 : ids[0] >>> 6;
+				offsets[set + 1] = offsets[set] + (ids.length == 0 ? 0 : (ids[ids.length - 1] >>> 6) - firstWords[set] + 1);
+			}
+		}
+		long entries = offsets[setCount];
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			header.putInt(MAGIC).putInt(VERSION).putInt(membership.ordinal()).putInt(pointCount).putInt(setCount).putInt(0);
+			header.putLong(polygons.get(setCount)).putLong(entries);
+			header.position(HEADER_SIZE);
+			header.flip();
+			write(channel, header);
+
+			Writer writer = new Writer(channel);
+			for (int i = 0; i < 2 * pointCount; i++)
+				writer.putInt(points.get(i));
+			writer.align();
+			for (int i = 0; i <= setCount; i++)
+				writer.putInt(polygons.get(i));
+			writer.align();
+			for (int i = 0; i < 2 * polygons.get(setCount); i++)
+				writer.putInt(vertices.get(i));
+			writer.align();
+			for (int i = 0; i < setCount; i++)
+				writer.putInt(colors.get(i));
+			writer.align();
+			for (int i = 0; i < setCount; i++)
+				writer.putDouble(costs.get(i));
+
+			if (membership == Membership.CSR) {
+				for (long offset : offsets)
+					writer.putLong(offset);
+				for (int[] ids : members)
+					for (int id : ids)
+						writer.putInt(id);
+			} else if (membership == Membership.BITMAP) {
+				for (int first : firstWords)
+					writer.putInt(first);
+				writer.align();
+				for (long offset : offsets)
+					writer.putLong(offset);
+				for (int set = 0; set < setCount; set++) {
+					long[] range = new long[(int) (offsets[set + 1] - offsets[set])];
+					for (int id : members.get(set))
+						range[(id >>> 6) - firstWords[set]] |= 1L << id;
+					for (long word : range)
+						writer.putLong(word);
+				}
+			}
+			writer.align();
+			writer.flush();
+		}
+	}
+
+	public int getPointCount() {
+		return pointCount;
+	}
+
+	public int getX(int point) {
+		return points.get(2 * point);
+	}
+
+	public int getY(int point) {
+		return points.get(2 * point + 1);
+	}
+
+	public int getSetCount() {
+		return setCount;
+	}
+
+	public int getVertexCount(int set) {
+		return polygons.get(set + 1) - polygons.get(set);
+	}
+
+	public int getVertexX(int set, int vertex) {
+		return vertices.get(2 * (polygons.get(set) + vertex));
+	}
+
+	public int getVertexY(int set, int vertex) {
+		return vertices.get(2 * (polygons.get(set) + vertex) + 1);
+	}
+
+	public int getColor(int set) {
+		return colors.get(set);
+	}
+
+	public double getCost(int set) {
+		return costs.get(set);
+	}
+
+	public Membership getMembership() {
+		return membership;
+	}
+
+	/**
+	 * Create polygon of a set from its vertices.
+	 * @param set index of set
+	 * @return polygon that its last edge ends at its first vertex
+	 * */
+	public Polygon createPolygon(int set) {
+		int first = polygons.get(set);
+		int count = polygons.get(set + 1) - first;
+		List<Line> edges = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			int start = 2 * (first + i);
+			int end = 2 * (first + (i + 1) % count);
+			edges.add(new Line(new Point(vertices.get(start), vertices.get(start + 1)), new Point(vertices.get(end), vertices.get(end + 1))));
+		}
+		return new Polygon(edges);
+	}
+
+	/**
+	 * Get sorted ids of points of a set from saved membership.
+	 * @param set index of set
+	 * @return ids of points inside of set
+	 * @throws IllegalStateException if membership has not been saved
+	 * */
+	public int[] getMembers(int set) {
+		switch (membership) {
+		case CSR:
+			int start = (int) offsets.get(set);
+			int[] ids = new int[(int) offsets.get(set + 1) - start];
+			for (int i = 0; i < ids.length; i++)
+				ids[i] = elements.get(start + i);
+			return ids;
+		case BITMAP:
+			int from = (int) offsets.get(set);
+			int to = (int) offsets.get(set + 1);
+			int count = 0;
+			for (int i = from; i < to; i++)
+				count += Long.bitCount(words.get(i));
+
+			int[] bits = new int[count];
+			count = 0;
+			for (int i = from; i < to; i++) {
+				long word = words.get(i);
+				int base = (firstWords.get(set) + i - from) << 6;
+				while (word != 0) {
+					bits[count++] = base + Long.numberOfTrailingZeros(word);
+					word &= word - 1;
+				}
+			}
+			return bits;
+		default:
+			throw new IllegalStateException("Membership of sets has not been saved");
+		}
+	}
+
+	/**
+	 * Get sorted ids of points of all sets.
+	 * If membership has not been saved, points inside of polygons are found by spatial index of points.
+	 * @return ids of points inside of each set
+	 * */
+	public List<int[]> getMembers() {
+		List<int[]> members = new ArrayList<>(setCount);
+		if (membership != Membership.NONE) {
+			for (int set = 0; set < setCount; set++)
+				members.add(getMembers(set));
+			return members;
+		}
+
+		PointIndex index = new PointIndex(Config.POINT_INDEX_CELL_SIZE);
+		for (int id = 0; id < pointCount; id++) {
+			Point point = new Point(getX(id), getY(id));
+			point.setId(id);
+			index.add(point);
+		}
+		for (int set = 0; set < setCount; set++) {
+			List<Point> inside = index.findInside(createPolygon(set));
+			int[] ids = new int[inside.size()];
+			for (int i = 0; i < ids.length; i++)
+				ids[i] = inside.get(i).getId();
+			Arrays.sort(ids);
+			members.add(ids);
+		}
+		return members;
+	}
+
+	/**
+	 * Create solver instance that points are its elements and sets are its sets.
+	 * @return instance of set cover problem
+	 * */
+	public Instance toInstance() {
+		double[] costs = new double[setCount];
+		this.costs.duplicate().get(costs);
+		return new Instance(pointCount, getMembers(), costs);
+	}
+
+	private static void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining())
+			channel.write(buffer);
+	}
+
+	/**
+	 * Sections of a file that are mapped one by one, so each section can be as large as a mapped buffer.
+	 * */
+	private static class Sections {
+
+		private final FileChannel channel;
+		private long position;
+
+		Sections(FileChannel channel, long position) {
+			this.channel = channel;
+			this.position = position;
+		}
+
+		/**
+		 * Map next section and move to next multiple of 8 bytes after it.
+		 * */
+		ByteBuffer map(long count, int bytes) throws IOException {
+			long size = count * bytes;
+			if (size > Integer.MAX_VALUE)
+				throw new IOException("Section of " + size + " bytes is too large to map");
+			if (position + size > channel.size())
+				throw new IOException("File is shorter than its sections");
+
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size).order(ByteOrder.LITTLE_ENDIAN);
+			position = (position + size + 7) & ~7L;
+			return buffer;
+		}
+	}
+
+	/**
+	 * Buffered writer of little endian numbers that pads sections to multiples of 8 bytes.
+	 * */
+	private static class Writer {
+
+		private final FileChannel channel;
+		private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+		private long written;
+
+		Writer(FileChannel channel) {
+			this.channel = channel;
+		}
+
+		void putInt(int value) throws IOException {
+			ensure(Integer.BYTES);
+			buffer.putInt(value);
+		}
+
+		void putLong(long value) throws IOException {
+			ensure(Long.BYTES);
+			buffer.putLong(value);
+		}
+
+		void putDouble(double value) throws IOException {
+			ensure(Double.BYTES);
+			buffer.putDouble(value);
+		}
+
+		void align() throws IOException {
+			while ((written + buffer.position()) % 8 != 0) {
+				ensure(1);
+				buffer.put((byte) 0);
+			}
+		}
+
+		void flush() throws IOException {
+			buffer.flip();
+			written += buffer.remaining();
+			write(channel, buffer);
+			buffer.clear();
+		}
+
+		private void ensure(int bytes) throws IOException {
+			if (buffer.remaining() < bytes)
+				flush();
+		}
+	}
+}
@@ -0,0 +1,279 @@
+package grid;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generator of random instances that doesn't depend on grid component, so it can be used in benchmarks and load tests.
+ * Same seed and same settings always generate same instance.
+ * Polygons of sets are generated first with random centers inside of region, and then each point is placed
+ * inside of polygon of a random set, so every point is covered by at least one set and nothing is generated again.
+ * Points have different locations, a point that is on location of a previous point is placed again.
+ * Area of each polygon is about overlap times area of region divided by number of sets,
+ * so overlap is the average number of sets that cover a location of region.
+ * Generating takes linear time in number of points and vertices.
+ * @author Majid Feyzi
+ * */
+public class InstanceGenerator {
+
+	/**
+	 * Shapes of polygons of sets.
+	 * Rectangles are axis aligned, convex polygons have their vertices on an ellipse
+	 * and star shaped polygons have vertices with long and short radii one after another.
+	 * */
+	public enum Shape {
+		Rectangle, Convex, Star
+	}
+
+	// Maximum number of tries to place a point inside of a polygon before placing it at center of polygon
+	private static final int MAX_TRIES = 64;
+
+	// Maximum number of vertices of a polygon of any shape
+	private static final int MAX_VERTICES = 16;
+
+	// Maximum number of sets that are tried to place a point on a free location
+	private static final int MAX_SETS = 1024;
+
+	private final Random random;
+
+	// Region of points and polygons
+	private int x = 0, y = 0, width = 1000, height = 1000;
+
+	private Shape shape = Shape.Rectangle;
+	private double overlap = 2;
+
+	/**
+	 * Create generator.
+	 * @param seed seed of random numbers
+	 * */
+	public InstanceGenerator(long seed) {
+		this.random = new Random(seed);
+	}
+
+	/**
+	 * Change region that points and polygons are generated inside of it.
+	 * @param x left of region
+	 * @param y top of region
+	 * @param width width of region
+	 * @param height height of region
+	 * */
+	public void setRegion(int x, int y, int width, int height) {
+		if (width < 1 || height < 1)
+			throw new IllegalArgumentException("Region must not be empty");
+		this.x = x;
+		this.y = y;
+		this.width = width;
+		this.height = height;
+	}
+
+	public void setShape(Shape shape) {
+		this.shape = shape;
+	}
+
+	/**
+	 * Change average number of sets that cover a location of region.
+	 * @param overlap positive overlap
+	 * */
+	public void setOverlap(double overlap) {
+		if (!(overlap > 0))
+			throw new IllegalArgumentException("Overlap must be positive: " + overlap);
+		this.overlap = overlap;
+	}
+
+	/**
+	 * Generate instance.
+	 * @param points number of points
+	 * @param sets number of sets, that must be positive if there is any point
+	 * @return instance file without membership that has exactly specified number of points with different locations
+	 * @throws IllegalArgumentException if points can't be placed on different locations inside of polygons
+	 * */
+	public InstanceFile generate(int points, int sets) {
+		if (points < 0 || sets < 0 || (points > 0 && sets == 0))
+			throw new IllegalArgumentException("Points need at least one set: " + points + " points, " + sets + " sets");
+		if (points > (long) width * height)
+			throw new IllegalArgumentException("Region doesn't have " + points + " locations");
+
+		// Area and radius of each polygon, radius is half of side of a square with same area
+		double area = overlap * width * height / Math.max(1, sets);
+		double radius = Math.max(2, Math.sqrt(area) / 2);
+
+		int[] polygons = new int[sets + 1];
+		int[] vertices = new int[2 * MAX_VERTICES * sets];
+		int[] colors = new int[sets];
+		double[] costs = new double[sets];
+		int[] centers = new int[2 * sets];
+		Polygon[] shapes = new Polygon[sets];
+		for (int s = 0; s < sets; s++) {
+			int cx = x + random.nextInt(width);
+			int cy = y + random.nextInt(height);
+			int[] corners = corners(cx, cy, radius);
+
+			// Polygon is moved inside of region if it is not larger than region
+			int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+			for (int i = 0; i < corners.length; i += 2) {
+				minX = Math.min(minX, corners[i]);
+				maxX = Math.max(maxX, corners[i]);
+				minY = Math.min(minY, corners[i + 1]);
+				maxY = Math.max(maxY, corners[i + 1]);
+			}
+			int dx = shift(minX, maxX, x, x + width - 1);
+			int dy = shift(minY, maxY, y, y + height - 1);
+			for (int i = 0; i < corners.length; i += 2) {
+				corners[i] += dx;
+				corners[i + 1] += dy;
+			}
+			centers[2 * s] = cx + dx;
+			centers[2 * s + 1] = cy + dy;
+
+			System.arraycopy(corners, 0, vertices, 2 * polygons[s], corners.length);
+			polygons[s + 1] = polygons[s] + corners.length / 2;
+			shapes[s] = polygon(corners);
+
+			// Light colors like colors of sets that user draws
+			colors[s] = ((150 + random.nextInt(100)) << 16) | ((150 + random.nextInt(100)) << 8) | (150 + random.nextInt(100));
+			costs[s] = 1;
+		}
+
+		int[] coordinates = new int[2 * points];
+		Locations locations = new Locations(points);
+		for (int i = 0; i < points; i++) {
+			int[] location = place(shapes, centers, locations);
+			coordinates[2 * i] = location[0];
+			coordinates[2 * i + 1] = location[1];
+		}
+
+		return new InstanceFile(coordinates, polygons, Arrays.copyOf(vertices, 2 * polygons[sets]), colors, costs);
+	}
+
+	/**
+	 * Find a free location inside of polygon of a random set and add it to locations.
+	 * If polygon of a set doesn't have a free location after some tries, polygon of another set is tried.
+	 * @return x and y of location
+	 * */
+	private int[] place(Polygon[] shapes, int[] centers, Locations locations) {
+		for (int tried = 0; tried < MAX_SETS; tried++) {
+			int s = random.nextInt(shapes.length);
+			Polygon polygon = shapes[s];
+
+			// Points are only placed in part of polygon that is inside of region, when polygon is larger than region
+			int minX = Math.max(x, polygon.getMinX()), maxX = Math.min(x + width - 1, polygon.getMaxX());
+			int minY = Math.max(y, polygon.getMinY()), maxY = Math.min(y + height - 1, polygon.getMaxY());
+			for (int t = 0; t < MAX_TRIES; t++) {
+				int rx = minX + random.nextInt(maxX - minX + 1);
+				int ry = minY + random.nextInt(maxY - minY + 1);
+				if (polygon.isInside(rx, ry) && locations.add(rx, ry))
+					return new int[] {rx, ry};
+			}
+
+			// Center of a small polygon may be its only location that is found by random tries
+			int cx = Math.min(Math.max(centers[2 * s], minX), maxX), cy = Math.min(Math.max(centers[2 * s + 1], minY), maxY);
+			if (polygon.isInside(cx, cy) && locations.add(cx, cy))
+				return new int[] {cx, cy};
+		}
+		throw new IllegalArgumentException("Polygons don't have enough free locations for points, use larger region or more overlap");
+	}
+
+	/**
+	 * Find distance that a range must be moved to be inside of another range.
+	 * If range is larger than other range, it is moved to start at start of other range.
+	 * */
+	private static int shift(int min, int max, int start, int end) {
+		if (max - min > end - start || min < start)
+			return start - min;
+		return max > end ? end - max : 0;
+	}
+
+	/**
+	 * Generate vertices of a polygon around a center.
+	 * @return x and y of vertices in order of polygon
+	 * */
+	private int[] corners(int cx, int cy, double radius) {
+		switch (shape) {
+		case Convex: {
+
+			// Vertices on an ellipse in order of their angles make a convex polygon
+			int count = 5 + random.nextInt(6);
+			double[] angles = new double[count];
+			for (int i = 0; i < count; i++)
+				angles[i] = 2 * Math.PI * (i + random.nextDouble() * 0.8) / count;
+			double ratio = 0.5 + random.nextDouble() * 1.5;
+			double a = radius * 1.3 * Math.sqrt(ratio), b = radius * 1.3 / Math.sqrt(ratio);
+			int[] corners = new int[2 * count];
+			for (int i = 0; i < count; i++) {
+				corners[2 * i] = cx + (int) Math.round(a * Math.cos(angles[i]));
+				corners[2 * i + 1] = cy + (int) Math.round(b * Math.sin(angles[i]));
+			}
+			return corners;
+		}
+		case Star: {
+
+			// Long and short radii one after another make a star that its center can see all of its vertices
+			int spikes = 5 + random.nextInt(4);
+			int[] corners = new int[4 * spikes];
+			for (int i = 0; i < 2 * spikes; i++) {
+				double angle = Math.PI * i / spikes;
+				double length = radius * (i % 2 == 0 ? 1.6 + random.nextDouble() * 0.4 : 0.6 + random.nextDouble() * 0.3);
+				corners[2 * i] = cx + (int) Math.round(length * Math.cos(angle));
+				corners[2 * i + 1] = cy + (int) Math.round(length * Math.sin(angle));
+			}
+			return corners;
+		}
+		default: {
+			double ratio = 0.5 + random.nextDouble() * 1.5;
+			int w = (int) Math.max(1, Math.round(radius * Math.sqrt(ratio)));
+			int h = (int) Math.max(1, Math.round(radius / Math.sqrt(ratio)));
+			return new int[] {cx - w, cy - h, cx + w, cy - h, cx + w, cy + h, cx - w, cy + h};
+		}
+		}
+	}
+
+	private static Polygon polygon(int[] corners) {
+		int count = corners.length / 2;
+		List<Line> edges = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			int next = (i + 1) % count;
+			edges.add(new Line(new Point(corners[2 * i], corners[2 * i + 1]), new Point(corners[2 * next], corners[2 * next + 1])));
+		}
+		return new Polygon(edges);
+	}
+
+	/**
+	 * Hash set of locations of points that keeps x and y of each location packed in a long.
+	 * */
+	private static class Locations {
+
+		private final long[] keys;
+		private final boolean[] used;
+		private final int mask;
+
+		// Hash uses the highest bits of mixed key, as many as bits of index of a slot
+		private final int shift;
+
+		Locations(int capacity) {
+			int size = Integer.highestOneBit(Math.max(2, 2 * capacity - 1)) << 1;
+			this.keys = new long[size];
+			this.used = new boolean[size];
+			this.mask = size - 1;
+			this.shift = 64 - Integer.numberOfTrailingZeros(size);
+		}
+
+		/**
+		 * Add a location if it has not been added.
+		 * @return true if location has been added
+		 * */
+		boolean add(int x, int y) {
+			long key = ((long) x << 32) | (y & 0xFFFFFFFFL);
+			int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+			while (used[slot]) {
+				if (keys[slot] == key)
+					return false;
+				slot = (slot + 1) & mask;
+			}
+			used[slot] = true;
+			keys[slot] = key;
+			return true;
+		}
+	}
+}
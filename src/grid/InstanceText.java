@@ -0,0 +1,383 @@
+package grid;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Arrays;
+
+import solver.Instance;
+
+/**
+ * Streaming reader and writer of points, polygons and covers in {@link TextFormat}.
+ * Records are parsed directly into growing primitive arrays and numbers are written from a buffer of characters,
+ * so no string is created for each record.
+ * Points and polygons that are read are returned as an {@link InstanceFile}
+ * that can be loaded into grid at once by {@link Grid#load(InstanceFile)} or converted to a solver instance.
+ * @author Majid Feyzi
+ * */
+public class InstanceText {
+
+	// Keys of JSON lines records
+	private static final String[] POINT_KEYS = {"x", "y"};
+	private static final String[] POLYGON_KEYS = {"cost", "color", "vertices"};
+	private static final String[] COVER_KEYS = {"set"};
+
+	// Color of sets that their color is not specified
+	private static final int DEFAULT_COLOR = 0xC0C0C0;
+
+	private InstanceText() {}
+
+	/**
+	 * Read points and polygons of sets.
+	 * @param points reader of points
+	 * @param polygons reader of polygons or null if there is no set
+	 * @param format format of both readers
+	 * @return instance file without membership, that ids of points are their order in reader
+	 * @throws IOException if a reader fails or a record is invalid
+	 * */
+	public static InstanceFile read(Reader points, Reader polygons, TextFormat format) throws IOException {
+		Ints coordinates = new Ints();
+		TextScanner scanner = new TextScanner(points);
+		while (scanner.hasRecord(format == TextFormat.CSV)) {
+			if (format == TextFormat.CSV) {
+				coordinates.add(scanner.readInt());
+				scanner.expect(',');
+				coordinates.add(scanner.readInt());
+			} else {
+				readPoint(scanner, coordinates);
+			}
+			scanner.endRecord();
+		}
+
+		Ints offsets = new Ints();
+		Ints vertices = new Ints();
+		Ints colors = new Ints();
+		Doubles costs = new Doubles();
+		offsets.add(0);
+		if (polygons != null) {
+			scanner = new TextScanner(polygons);
+			while (scanner.hasRecord(format == TextFormat.CSV)) {
+				if (format == TextFormat.CSV) {
+					costs.add(readCost(scanner));
+					scanner.expect(',');
+					colors.add(scanner.readColor());
+					while (scanner.skip(',')) {
+						vertices.add(scanner.readInt());
+						scanner.expect(',');
+						vertices.add(scanner.readInt());
+					}
+				} else {
+					readPolygon(scanner, vertices, colors, costs);
+				}
+
+				if (vertices.size / 2 - offsets.get(offsets.size - 1) < 3)
+					throw scanner.error("Polygon must have at least 3 vertices");
+				offsets.add(vertices.size / 2);
+				scanner.endRecord();
+			}
+		}
+
+		return new InstanceFile(coordinates.toArray(), offsets.toArray(), vertices.toArray(), colors.toArray(), costs.toArray());
+	}
+
+	/**
+	 * Read indices of sets of a cover in order of its steps.
+	 * @param in reader of cover
+	 * @param format format of reader
+	 * @return indices of sets of cover
+	 * @throws IOException if reader fails or a record is invalid
+	 * */
+	public static int[] readCover(Reader in, TextFormat format) throws IOException {
+		Ints sets = new Ints();
+		TextScanner scanner = new TextScanner(in);
+		while (scanner.hasRecord(format == TextFormat.CSV)) {
+			if (format == TextFormat.CSV) {
+				sets.add(scanner.readInt());
+				scanner.nextLine();
+			} else {
+				int set = -1;
+				scanner.expect('{');
+				if (!scanner.skip('}')) {
+					do {
+						if (scanner.readKey(COVER_KEYS) == 0)
+							set = scanner.readInt();
+						else
+							scanner.skipValue();
+					} while (scanner.skip(','));
+					scanner.expect('}');
+				}
+				if (set < 0)
+					throw scanner.error("Cover step must have a set");
+				sets.add(set);
+				scanner.endRecord();
+			}
+		}
+		return sets.toArray();
+	}
+
+	/**
+	 * Write points of an instance file in order of their ids.
+	 * @param file instance file
+	 * @param out writer of points
+	 * @param format format of writer
+	 * @throws IOException if writer fails
+	 * */
+	public static void writePoints(InstanceFile file, Writer out, TextFormat format) throws IOException {
+		Output output = new Output(out);
+		if (format == TextFormat.CSV)
+			output.append("x,y\n");
+		for (int id = 0; id < file.getPointCount(); id++) {
+			if (format == TextFormat.CSV) {
+				output.append(file.getX(id)).append(',').append(file.getY(id));
+			} else {
+				output.append("{\"x\": ").append(file.getX(id)).append(", \"y\": ").append(file.getY(id)).append('}');
+			}
+			output.append('\n');
+		}
+		output.flush();
+	}
+
+	/**
+	 * Write polygons, colors and costs of sets of an instance file.
+	 * @param file instance file
+	 * @param out writer of polygons
+	 * @param format format of writer
+	 * @throws IOException if writer fails
+	 * */
+	public static void writePolygons(InstanceFile file, Writer out, TextFormat format) throws IOException {
+		Output output = new Output(out);
+		if (format == TextFormat.CSV)
+			output.append("cost,color,vertices\n");
+		for (int set = 0; set < file.getSetCount(); set++) {
+			if (format == TextFormat.CSV) {
+				output.append(file.getCost(set)).append(',').appendColor(file.getColor(set));
+				for (int v = 0; v < file.getVertexCount(set); v++)
+					output.append(',').append(file.getVertexX(set, v)).append(',').append(file.getVertexY(set, v));
+			} else {
+				output.append("{\"cost\": ").append(file.getCost(set)).append(", \"color\": \"").appendColor(file.getColor(set));
+				output.append("\", \"vertices\": [");
+				for (int v = 0; v < file.getVertexCount(set); v++) {
+					if (v > 0)
+						output.append(", ");
+					output.append('[').append(file.getVertexX(set, v)).append(", ").append(file.getVertexY(set, v)).append(']');
+				}
+				output.append("]}");
+			}
+			output.append('\n');
+		}
+		output.flush();
+	}
+
+	/**
+	 * Write steps of a cover with cost of each set and number of elements that each step covers for the first time.
+	 * @param instance instance that cover belongs to
+	 * @param sets indices of sets of cover in order of steps
+	 * @param out writer of cover
+	 * @param format format of writer
+	 * @throws IOException if writer fails
+	 * */
+	public static void writeCover(Instance instance, int[] sets, Writer out, TextFormat format) throws IOException {
+		Output output = new Output(out);
+		long[] covered = instance.createCoverage();
+		if (format == TextFormat.CSV)
+			output.append("set,cost,covered\n");
+		for (int set : sets) {
+			int count = instance.cover(set, covered);
+			if (format == TextFormat.CSV) {
+				output.append(set).append(',').append(instance.getCost(set)).append(',').append(count);
+			} else {
+				output.append("{\"set\": ").append(set).append(", \"cost\": ").append(instance.getCost(set));
+				output.append(", \"covered\": ").append(count).append('}');
+			}
+			output.append('\n');
+		}
+		output.flush();
+	}
+
+	/**
+	 * Read cost of a set that must be a finite non-negative number.
+	 * */
+	private static double readCost(TextScanner scanner) throws IOException {
+		double cost = scanner.readDouble();
+		if (!(cost >= 0) || Double.isInfinite(cost))
+			throw scanner.error("Cost " + cost + " is not a finite non-negative number");
+		return cost;
+	}
+
+	/**
+	 * Read point of a JSON lines record.
+	 * */
+	private static void readPoint(TextScanner scanner, Ints coordinates) throws IOException {
+		int x = 0, y = 0;
+		boolean hasX = false, hasY = false;
+		scanner.expect('{');
+		if (!scanner.skip('}')) {
+			do {
+				switch (scanner.readKey(POINT_KEYS)) {
+				case 0:
+					x = scanner.readInt();
+					hasX = true;
+					break;
+				case 1:
+					y = scanner.readInt();
+					hasY = true;
+					break;
+				default:
+					scanner.skipValue();
+				}
+			} while (scanner.skip(','));
+			scanner.expect('}');
+		}
+		if (!hasX || !hasY)
+			throw scanner.error("Point must have x and y");
+		coordinates.add(x);
+		coordinates.add(y);
+	}
+
+	/**
+	 * Read polygon of a JSON lines record.
+	 * */
+	private static void readPolygon(TextScanner scanner, Ints vertices, Ints colors, Doubles costs) throws IOException {
+		double cost = 1;
+		int color = DEFAULT_COLOR;
+		scanner.expect('{');
+		if (!scanner.skip('}')) {
+			do {
+				switch (scanner.readKey(POLYGON_KEYS)) {
+				case 0:
+					cost = readCost(scanner);
+					break;
+				case 1:
+					color = scanner.readColor();
+					break;
+				case 2:
+					scanner.expect('[');
+					if (!scanner.skip(']')) {
+						do {
+							scanner.expect('[');
+							vertices.add(scanner.readInt());
+							scanner.expect(',');
+							vertices.add(scanner.readInt());
+							scanner.expect(']');
+						} while (scanner.skip(','));
+						scanner.expect(']');
+					}
+					break;
+				default:
+					scanner.skipValue();
+				}
+			} while (scanner.skip(','));
+			scanner.expect('}');
+		}
+		costs.add(cost);
+		colors.add(color);
+	}
+
+	/**
+	 * Growing array of ints.
+	 * */
+	private static class Ints {
+
+		private int[] values = new int[1024];
+		private int size;
+
+		void add(int value) {
+			if (size == values.length)
+				values = Arrays.copyOf(values, 2 * size);
+			values[size++] = value;
+		}
+
+		int get(int index) {
+			return values[index];
+		}
+
+		int[] toArray() {
+			return Arrays.copyOf(values, size);
+		}
+	}
+
+	/**
+	 * Growing array of doubles.
+	 * */
+	private static class Doubles {
+
+		private double[] values = new double[256];
+		private int size;
+
+		void add(double value) {
+			if (size == values.length)
+				values = Arrays.copyOf(values, 2 * size);
+			values[size++] = value;
+		}
+
+		double[] toArray() {
+			return Arrays.copyOf(values, size);
+		}
+	}
+
+	/**
+	 * Buffer of characters that numbers are written in it digit by digit and is written to writer when it is full.
+	 * */
+	private static class Output {
+
+		private final Writer writer;
+		private final char[] buffer = new char[1 << 16];
+		private int size;
+
+		Output(Writer writer) {
+			this.writer = writer;
+		}
+
+		Output append(char c) throws IOException {
+			if (size == buffer.length)
+				flush();
+			buffer[size++] = c;
+			return this;
+		}
+
+		Output append(String text) throws IOException {
+			for (int i = 0; i < text.length(); i++)
+				append(text.charAt(i));
+			return this;
+		}
+
+		Output append(long value) throws IOException {
+			if (value < 0) {
+				append('-');
+				if (value == Long.MIN_VALUE)
+					return append("9223372036854775808");
+				value = -value;
+			}
+
+			// Digits are found from the last one
+			long divisor = 1;
+			while (value / divisor >= 10)
+				divisor *= 10;
+			for (; divisor > 0; divisor /= 10)
+				append((char) ('0' + value / divisor % 10));
+			return this;
+		}
+
+		/**
+		 * Append a decimal number, numbers without fraction are written as integers.
+		 * */
+		Output append(double value) throws IOException {
+			if (value == Math.rint(value) && Math.abs(value) < 1e15)
+				return append((long) value);
+			return append(Double.toString(value));
+		}
+
+		Output appendColor(int color) throws IOException {
+			append('#');
+			for (int shift = 20; shift >= 0; shift -= 4)
+				append(Character.forDigit((color >>> shift) & 0xF, 16));
+			return this;
+		}
+
+		void flush() throws IOException {
+			writer.write(buffer, 0, size);
+			size = 0;
+			writer.flush();
+		}
+	}
+}
@@ -1,11 +1,10 @@
 package grid;
 
-import java.awt.Color;
-
 /**
  * One of the elements of set cover problem that user can draw it on grid.
  * Each point can be displayed on grid only with x and y coordinates.
- * Each point has a color too. This color is using to show point in set that belong to it in solving problem.
+ * Points that are added to grid have a dense id that is using as element id of set cover problem.
+ * Two points are equal if they have same coordinates, regardless of their id.
  * @author Majid Feyzi
  * */
 public class Point {
@@ -13,8 +12,8 @@ public class Point {
 	// Coordinate of point on grid
 	private final int x, y;
 
-	// Color of point based on set that is belong to it
-	private Color color = null;
+	// Id of point in grid or -1 if point has not been added to grid
+	private int id = -1;
 
 	public Point(int x, int y) {
 		this.x = x;
@@ -29,15 +28,45 @@ public class Point {
 		return y;
 	}
 	
-	public boolean isColored() {
-		return color != null;
+	public int getId() {
+		return id;
+	}
+
+	public void setId(int id) {
+		this.id = id;
+	}
+
+	/**
+	 * Get coordinates of point packed in a long value.
+	 * Points with same coordinates have same key.
+	 * @return x in high 32 bits and y in low 32 bits
+	 * */
+	public long getKey() {
+		return key(x, y);
+	}
+
+	/**
+	 * Pack coordinates in a long value.
+	 * @param x x coordinate
+	 * @param y y coordinate
+	 * @return x in high 32 bits and y in low 32 bits
+	 * */
+	public static long key(int x, int y) {
+		return ((long) x << 32) | (y & 0xFFFFFFFFL);
 	}
 
-	public Color getColor() {
-		return color;
+	@Override
+	public boolean equals(Object o) {
+		if (this == o)
+			return true;
+		if (!(o instanceof Point))
+			return false;
+		Point point = (Point) o;
+		return x == point.x && y == point.y;
 	}
 
-	public void setColor(Color color) {
-		this.color = color;
+	@Override
+	public int hashCode() {
+		return 31 * x + y;
 	}
 }
@@ -0,0 +1,151 @@
+package grid;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Spatial index of points of grid that is using to find points inside of a polygon.
+ * Plane is divided into square cells and each point is kept in bucket of its cell.
+ * Only cells that overlap bounding box of polygon are visited and cells that are completely inside of polygon
+ * are accepted without checking their points one by one.
+ * Buckets are kept in a hash map, so empty cells don't need any memory and coordinates can have any range.
+ * When there are many candidate points, buckets are checked in parallel on a fork/join pool
+ * and result is sorted by point ids, so it doesn't depend on order of threads.
+ * @author Majid Feyzi
+ * */
+class PointIndex {
+
+	// Size of each square cell
+	private final int cellSize;
+
+	// Points of each non empty cell by packed cell coordinates
+	private final Map<Long, List<Point>> cells = new HashMap<>();
+
+	// Pool that checks candidate buckets in parallel
+	private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+	PointIndex(int cellSize) {
+		this.cellSize = cellSize;
+	}
+
+	void setPool(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Add point to index.
+	 * @param point point to add
+	 * */
+	void add(Point point) {
+		cells.computeIfAbsent(key(cell(point.getX()), cell(point.getY())), k -> new ArrayList<>()).add(point);
+	}
+
+	/**
+	 * Remove point from index.
+	 * Removed point is usually last added point of its cell, so it is checked first.
+	 * @param point point to remove
+	 * */
+	void remove(Point point) {
+		long key = key(cell(point.getX()), cell(point.getY()));
+		List<Point> bucket = cells.get(key);
+		if (bucket == null)
+			return;
+
+		if (bucket.get(bucket.size() - 1) == point)
+			bucket.remove(bucket.size() - 1);
+		else
+			bucket.remove(point);
+
+		if (bucket.isEmpty())
+			cells.remove(key);
+	}
+
+	/**
+	 * Remove all points from index.
+	 * */
+	void clear() {
+		cells.clear();
+	}
+
+	/**
+	 * Find points that are located inside of polygon.
+	 * @param polygon polygon to check
+	 * @return points inside of polygon sorted by their ids
+	 * */
+	List<Point> findInside(Polygon polygon) {
+		if (polygon.getMinX() > polygon.getMaxX())
+			return new ArrayList<>();
+
+		int minCellX = cell(polygon.getMinX()), maxCellX = cell(polygon.getMaxX());
+		int minCellY = cell(polygon.getMinY()), maxCellY = cell(polygon.getMaxY());
+
+		// Find cells that overlap bounding box, visit non empty cells directly if there are less of them than cells of bounding box
+		List<long[]> candidates = new ArrayList<>();
+		int count = 0;
+		long boxCells = ((long) maxCellX - minCellX + 1) * ((long) maxCellY - minCellY + 1);
+		if (boxCells > cells.size()) {
+			for (Map.Entry<Long, List<Point>> entry : cells.entrySet()) {
+				int cx = (int) (entry.getKey() >> 32), cy = (int) (long) entry.getKey();
+				if (cx >= minCellX && cx <= maxCellX && cy >= minCellY && cy <= maxCellY) {
+					candidates.add(new long[] {cx, cy});
+					count += entry.getValue().size();
+				}
+			}
+		} else {
+			for (int cx = minCellX; cx <= maxCellX; cx++)
+				for (int cy = minCellY; cy <= maxCellY; cy++) {
+					List<Point> bucket = cells.get(key(cx, cy));
+					if (bucket != null) {
+						candidates.add(new long[] {cx, cy});
+						count += bucket.size();
+					}
+				}
+		}
+
+		List<Point> inside;
+		if (count >= Config.PARALLEL_THRESHOLD && candidates.size() > 1) {
+			inside = pool.submit(() -> candidates.parallelStream()
+					.flatMap(cell -> collect(polygon, (int) cell[0], (int) cell[1]).stream())
+					.collect(Collectors.toCollection(ArrayList::new))).join();
+		} else {
+			inside = new ArrayList<>();
+			for (long[] cell : candidates)
+				inside.addAll(collect(polygon, (int) cell[0], (int) cell[1]));
+		}
+
+		inside.sort(Comparator.comparingInt(Point::getId));
+		return inside;
+	}
+
+	/**
+	 * Find points of a cell that are inside of polygon.
+	 * */
+	private List<Point> collect(Polygon polygon, int cx, int cy) {
+		List<Point> bucket = cells.get(key(cx, cy));
+		long minX = (long) cx * cellSize, minY = (long) cy * cellSize;
+		long maxX = minX + cellSize - 1, maxY = minY + cellSize - 1;
+
+		// Checking a cell costs about as much as checking a few points, so it is skipped for small buckets
+		if (bucket.size() >= 8 && polygon.containsRectangle((int) minX, (int) minY, (int) maxX, (int) maxY))
+			return bucket;
+
+		List<Point> inside = new ArrayList<>();
+		for (Point point : bucket)
+			if (polygon.isInside(point.getX(), point.getY()))
+				inside.add(point);
+		return inside;
+	}
+
+	private int cell(int coordinate) {
+		return Math.floorDiv(coordinate, cellSize);
+	}
+
+	private static long key(int cx, int cy) {
+		return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+	}
+}
@@ -16,111 +16,142 @@ public class Polygon {
     // Vertices of polygon
     private List<Point> vertices = new ArrayList<>();
 
+    // Coordinates of start vertex of each edge and direction of edge to check points without any allocation
+    private final int[] xs, ys;
+    private final long[] dxs, dys;
+
+    // Axis aligned bounding box of polygon
+    private int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+    private int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+
     public Polygon(List<Line> edges) {
         this.edges = new ArrayList<>(edges);
-        for (Line edge : edges)
+        this.xs = new int[edges.size()];
+        this.ys = new int[edges.size()];
+        this.dxs = new long[edges.size()];
+        this.dys = new long[edges.size()];
+        for (int i = 0; i < edges.size(); i++) {
+            Line edge = edges.get(i);
             this.vertices.add(edge.getEnd());
+            this.xs[i] = edge.getStart().getX();
+            this.ys[i] = edge.getStart().getY();
+            minX = Math.min(minX, xs[i]);
+            minY = Math.min(minY, ys[i]);
+            maxX = Math.max(maxX, xs[i]);
+            maxY = Math.max(maxY, ys[i]);
+        }
+
+        // Each edge ends at start vertex of next edge, so polygon is always closed
+        for (int i = 0; i < xs.length; i++) {
+            int next = (i + 1) % xs.length;
+            dxs[i] = (long) xs[next] - xs[i];
+            dys[i] = (long) ys[next] - ys[i];
+        }
     }
 
     public List<Line> getEdges() {
         return edges;
     }
 
+    public int getMinX() {
+        return minX;
+    }
+
+    public int getMinY() {
+        return minY;
+    }
+
+    public int getMaxX() {
+        return maxX;
+    }
+
+    public int getMaxY() {
+        return maxY;
+    }
+
     /**
      * Check that point is inside of polygon or not.
      * @param point point to check
      * @return true if point is inside of polygon and false if point is outside of polygon
+     * @see #isInside(int, int)
      * */
     public boolean isInsideOfPolygon(Point point) {
+        return isInside(point.getX(), point.getY());
+    }
 
-        boolean isOnVertex = false;
-
-        // left intersection points
-        List<Point> lipoints = new ArrayList<>();
-
-        // top intersection points
-        List<Point> tipoints = new ArrayList<>();
-
-        // right intersection points
-        List<Point> ripoints = new ArrayList<>();
-
-        // bottom intersection points
-        List<Point> bipoints = new ArrayList<>();
-
-        // Create horizontal hypothetical line from point to left of point
-        Line left = new Line(point, new Point(Integer.MIN_VALUE, point.getY()));
-
-        // Create vertical hypothetical line from point to top of point
-        Line top = new Line(point, new Point(point.getX(), Integer.MIN_VALUE));
-
-        // Create horizontal hypothetical line from point to right of point
-        Line right = new Line(point, new Point(Integer.MAX_VALUE, point.getY()));
-
-        // Create vertical hypothetical line from point to bottom of point
-        Line bottom = new Line(point, new Point(point.getX(), Integer.MAX_VALUE));
-
-        for (Line edge : edges) {
-
-            // If point is one of polygon vertices so it is inside of polygon
-            if (edge.getStart().getX() == point.getX() && edge.getStart().getY() == point.getY()) {
-                isOnVertex = true;
-                break;
-            }
-
-            // Find intersections of point with edges in left of the point
-            Point lintersect = left.findIntersectionWith(edge);
-            if (lintersect.getX() != -1 && lintersect.getY() != -1 && lintersect.getX() <= point.getX()) {
-
-                // Ignore intersection points that are not on the line
-                int distance = new Line(edge.getStart(), lintersect).distance() + new Line(lintersect, edge.getEnd()).distance();
-
-                // If intersection is on one of vertices or is on line
-                if (edge.getStart().equals(lintersect) || edge.getEnd().equals(lintersect) || distance <= edge.distance()) {
-                    lipoints.add(lintersect);
-                }
-            }
-
-            // Find intersections of point with edges in top of the point
-            Point tintersect = top.findIntersectionWith(edge);
-            if (tintersect.getX() != -1 && tintersect.getY() != -1 && tintersect.getY() <= point.getY()) {
-
-                // Ignore intersection points that are not on the line
-                int distance = new Line(edge.getStart(), tintersect).distance() + new Line(tintersect, edge.getEnd()).distance();
-
-                // If intersection is on one of vertices or is on line
-                if (edge.getStart().equals(tintersect) || edge.getEnd().equals(tintersect) || distance <= edge.distance()) {
-                    tipoints.add(tintersect);
-                }
-            }
-
-            // Find intersections of point with edges in right of the point
-            Point rintersect = right.findIntersectionWith(edge);
-            if (rintersect.getX() != -1 && rintersect.getY() != -1 && rintersect.getX() >= point.getX()) {
-
-                // Ignore intersection points that are not on the line
-                int distance = new Line(edge.getStart(), rintersect).distance() + new Line(rintersect, edge.getEnd()).distance();
-
-                // If intersection is on one of vertices or is on line
-                if (edge.getStart().equals(rintersect) || edge.getEnd().equals(rintersect) || distance <= edge.distance()) {
-                    ripoints.add(rintersect);
-                }
-            }
-
-            // Find intersections of point with edges in bottom of the point
-            Point bintersect = bottom.findIntersectionWith(edge);
-            if (bintersect.getX() != -1 && bintersect.getY() != -1 && bintersect.getY() >= point.getY()) {
-
-                // Ignore intersection points that are not on the line
-                int distance = new Line(edge.getStart(), bintersect).distance() + new Line(bintersect, edge.getEnd()).distance();
-
-                // If intersection is on one of vertices or is on line
-                if (edge.getStart().equals(bintersect) || edge.getEnd().equals(bintersect) || distance <= edge.distance()) {
-                    bipoints.add(bintersect);
-                }
-            }
+    /**
+     * Check that coordinate is inside of polygon or not.
+     * This method counts crossings of a horizontal ray from the point to the right with edges of polygon
+     * and the point is inside if count is odd. Each edge includes its lower end and excludes its upper end,
+     * so a ray through a vertex is counted once. Points on edges or vertices are considered inside of polygon.
+     * All computations are exact integer computations on cached edge data and nothing is allocated.
+     * Points outside of bounding box of polygon are rejected before checking any edge.
+     * @param x x coordinate of point
+     * @param y y coordinate of point
+     * @return true if point is inside or on the boundary of polygon
+     * */
+    public boolean isInside(int x, int y) {
+
+        // Points outside of bounding box can not be inside of polygon
+        if (x < minX || x > maxX || y < minY || y > maxY)
+            return false;
+
+        boolean inside = false;
+        for (int i = 0; i < xs.length; i++) {
+            int xi = xs[i], yi = ys[i];
+            long dx = dxs[i], dy = dys[i];
+            long yj = yi + dy;
+
+            // Edge that is completely above or below the point can not cross the ray or contain the point
+            boolean crosses = (yi > y) != (yj > y);
+            if (!crosses && y != yi && y != yj)
+                continue;
+
+            // Cross product of edge and point which is zero when point is on the line of edge
+            long cross = dx * ((long) y - yi) - dy * ((long) x - xi);
+            if (cross == 0 && Math.min(xi, xi + dx) <= x && x <= Math.max(xi, xi + dx) && Math.min(yi, yj) <= y && y <= Math.max(yi, yj))
+                return true;
+
+            // Edge crosses the ray if point is between its ends vertically and on left side of it
+            if (crosses && (cross > 0) == (dy > 0))
+                inside = !inside;
         }
+        return inside;
+    }
 
-        // Determine that point is inside of set or not
-        return isOnVertex || (lipoints.size() % 2 == 1 && tipoints.size() % 2 == 1 && ripoints.size() % 2 == 1 && bipoints.size() % 2 == 1);
+    /**
+     * Check that a rectangle is completely inside of polygon or not.
+     * Rectangle is inside if all of its corners are inside of polygon and no edge passes through its interior.
+     * An edge passes through interior of rectangle if their bounding boxes overlap
+     * and corners of rectangle are on both sides of the line of edge.
+     * @param left x coordinate of left side
+     * @param top y coordinate of top side
+     * @param right x coordinate of right side
+     * @param bottom y coordinate of bottom side
+     * @return true if all points of rectangle are inside of polygon
+     * */
+    public boolean containsRectangle(int left, int top, int right, int bottom) {
+        if (!isInside(left, top) || !isInside(right, top) || !isInside(left, bottom) || !isInside(right, bottom))
+            return false;
+
+        for (int i = 0; i < xs.length; i++) {
+            int xi = xs[i], yi = ys[i];
+            long dx = dxs[i], dy = dys[i];
+
+            // Edge is outside of rectangle interior in x or y axis
+            if (Math.max(xi, xi + dx) <= left || Math.min(xi, xi + dx) >= right || Math.max(yi, yi + dy) <= top || Math.min(yi, yi + dy) >= bottom)
+                continue;
+
+            // Sides of corners relative to line of edge
+            long c1 = dx * ((long) top - yi) - dy * ((long) left - xi);
+            long c2 = dx * ((long) top - yi) - dy * ((long) right - xi);
+            long c3 = dx * ((long) bottom - yi) - dy * ((long) left - xi);
+            long c4 = dx * ((long) bottom - yi) - dy * ((long) right - xi);
+            boolean positive = c1 > 0 || c2 > 0 || c3 > 0 || c4 > 0;
+            boolean negative = c1 < 0 || c2 < 0 || c3 < 0 || c4 < 0;
+            if (positive && negative)
+                return false;
+        }
+        return true;
     }
 }
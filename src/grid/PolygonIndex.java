@@ -0,0 +1,119 @@
+package grid;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spatial index of sets of grid by bounding box of their polygons that is using to find sets of a new point.
+ * Plane is divided into square cells and each set is kept in buckets of all cells that its bounding box overlaps,
+ * so a new point is checked only against sets of its own cell.
+ * Sets with very large bounding boxes are kept in a separate list instead of filling many cells.
+ * @author Majid Feyzi
+ * */
+class PolygonIndex {
+
+	// Maximum number of cells that a set can be added to
+	private static final int MAX_CELLS = 1024;
+
+	// Size of each square cell
+	private final int cellSize;
+
+	// Sets of each non empty cell by packed cell coordinates
+	private final Map<Long, List<Set>> cells = new HashMap<>();
+
+	// Sets that their bounding box overlaps too many cells
+	private final List<Set> large = new ArrayList<>();
+
+	PolygonIndex(int cellSize) {
+		this.cellSize = cellSize;
+	}
+
+	/**
+	 * Add set to index.
+	 * @param set set to add
+	 * */
+	void add(Set set) {
+		Polygon polygon = set.getPolygon();
+		if (polygon.getMinX() > polygon.getMaxX())
+			return;
+
+		int minCellX = cell(polygon.getMinX()), maxCellX = cell(polygon.getMaxX());
+		int minCellY = cell(polygon.getMinY()), maxCellY = cell(polygon.getMaxY());
+		if (((long) maxCellX - minCellX + 1) * ((long) maxCellY - minCellY + 1) > MAX_CELLS) {
+			large.add(set);
+			return;
+		}
+
+		for (int cx = minCellX; cx <= maxCellX; cx++)
+			for (int cy = minCellY; cy <= maxCellY; cy++)
+				cells.computeIfAbsent(key(cx, cy), k -> new ArrayList<>()).add(set);
+	}
+
+	/**
+	 * Remove set from index.
+	 * Removed set is usually last added set, so it is checked first in each bucket.
+	 * @param set set to remove
+	 * */
+	void remove(Set set) {
+		Polygon polygon = set.getPolygon();
+		if (polygon.getMinX() > polygon.getMaxX())
+			return;
+
+		int minCellX = cell(polygon.getMinX()), maxCellX = cell(polygon.getMaxX());
+		int minCellY = cell(polygon.getMinY()), maxCellY = cell(polygon.getMaxY());
+		if (((long) maxCellX - minCellX + 1) * ((long) maxCellY - minCellY + 1) > MAX_CELLS) {
+			removeFrom(large, set);
+			return;
+		}
+
+		for (int cx = minCellX; cx <= maxCellX; cx++)
+			for (int cy = minCellY; cy <= maxCellY; cy++) {
+				long key = key(cx, cy);
+				List<Set> bucket = cells.get(key);
+				if (bucket != null) {
+					removeFrom(bucket, set);
+					if (bucket.isEmpty())
+						cells.remove(key);
+				}
+			}
+	}
+
+	/**
+	 * Remove all sets from index.
+	 * */
+	void clear() {
+		cells.clear();
+		large.clear();
+	}
+
+	/**
+	 * Find sets that their bounding box contains point.
+	 * Point must still be checked against polygon of each candidate set.
+	 * @param point point to find its candidate sets
+	 * @return candidate sets of point
+	 * */
+	List<Set> findCandidates(Point point) {
+		List<Set> candidates = new ArrayList<>(large);
+		List<Set> bucket = cells.get(key(cell(point.getX()), cell(point.getY())));
+		if (bucket != null)
+			candidates.addAll(bucket);
+		return candidates;
+	}
+
+	private static void removeFrom(List<Set> bucket, Set set) {
+		if (!bucket.isEmpty() && bucket.get(bucket.size() - 1) == set)
+			bucket.remove(bucket.size() - 1);
+		else
+			bucket.remove(set);
+	}
+
+	private int cell(int coordinate) {
+		return Math.floorDiv(coordinate, cellSize);
+	}
+
+	private static long key(int cx, int cy) {
+		return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+	}
+}
@@ -2,13 +2,16 @@ package grid;
 
 import java.awt.Color;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * This class specify sets of problems that contains a polygon and points inside it.
  * New set is creating with a polygon and detect and keep the points inside it.
  * To detect point is inside of a set or not, i use the count of right sides intersection.
- * Each set has specific color, name and polygon.
+ * Each set has specific color, name, polygon and cost that is one by default.
+ * Membership of set is kept as a bitmap of point ids too, to use it in solving problem without scanning points.
  * @author Majid Feyzi
  * */
 public class Set {
@@ -19,46 +22,70 @@ public class Set {
 	// Points that is inside of polygin
 	private List<Point> points;
 
+	// Bitmap of ids of points that is inside of polygon
+	private final BitSet membership = new BitSet();
+
 	// Color of sett
 	private Color color;
 
 	// Name of set
 	private String name;
 
-	// Flag that is use step by step solving
-	private boolean isRemoved = false;
-	
-	public boolean isRemoved() {
-		return isRemoved;
-	}
-	public void setRemoved(boolean isRemoved) {
-		this.isRemoved = isRemoved;
-		
-		// Logically remove set points to show removed points in color of set
-		if (isRemoved) {
-			for(Point point : getPoints()) {
-				if (!point.isColored())
-					point.setColor(getColor());
-			}
-		} else {
-			for(Point point : getPoints()) 
-				point.setColor(null);
-		}
-	}
+	// Cost of selecting set in solution
+	private double cost = 1;
+
 	public String getName() {
 		return name.split("\\(")[0].trim() + " (" + points.size() + " Point)";
 	}
 	public void setName(String name) {
 		this.name = name;
 	}
+	public double getCost() {
+		return cost;
+	}
+	public void setCost(double cost) {
+		this.cost = cost;
+	}
 	public Color getColor() {
 		return color;
 	}
 	public List<Point> getPoints() {
 		return points;
 	}
-	public void setPoints(List<Point> points) {
-		this.points = points;
+
+	/**
+	 * Get bitmap of ids of set points.
+	 * Returned bitmap is shared with set and must not be modified.
+	 * @return membership bitmap of set
+	 * */
+	public BitSet getMembership() {
+		return membership;
+	}
+
+	/**
+	 * Add point to set points.
+	 * @param point point that is inside of set polygon
+	 * */
+	public void addPoint(Point point) {
+		points.add(point);
+		if (point.getId() >= 0)
+			membership.set(point.getId());
+	}
+
+	/**
+	 * Remove point from set points.
+	 * Removed point is usually last added point, so it is checked first.
+	 * @param point point to remove
+	 * */
+	public void removePoint(Point point) {
+		boolean removed;
+		if (!points.isEmpty() && points.get(points.size() - 1) == point)
+			removed = points.remove(points.size() - 1) != null;
+		else
+			removed = points.remove(point);
+
+		if (removed && point.getId() >= 0)
+			membership.clear(point.getId());
 	}
 	public Polygon getPolygon() {
 		return polygon;
@@ -75,33 +102,63 @@ public class Set {
 		this.name = name + " (" + points.size() + " Point)";
 	}
 
+	/**
+	 * Create set using spatial index of points.
+	 * Only points that are near polygon are checked.
+	 * */
+	Set(String name, Color color, Polygon polygon, PointIndex index) {
+		this.color = color;
+		this.polygon = polygon;
+		this.points = index.findInside(polygon);
+		for (Point point : points)
+			if (point.getId() >= 0)
+				membership.set(point.getId());
+
+		// Show number of polygon inside points at the end of name
+		this.name = name + " (" + points.size() + " Point)";
+	}
+
+	private Set(String name, Color color, Polygon polygon) {
+		this.color = color;
+		this.polygon = polygon;
+		this.points = new ArrayList<>();
+		this.name = name;
+	}
+
+	/**
+	 * Create set with points that are known to be inside of its polygon, without checking them.
+	 * @param name name of set
+	 * @param color color of set
+	 * @param polygon polygon of set
+	 * @param points points inside of polygon
+	 * @return new set
+	 * */
+	static Set withPoints(String name, Color color, Polygon polygon, List<Point> points) {
+		Set set = new Set(name, color, polygon);
+		for (Point point : points)
+			set.addPoint(point);
+		return set;
+	}
+
 	/**
 	 * Find points that located inside of polygon.
+	 * Order of points is kept even if they are checked in parallel.
 	 * @param points all available points
 	 * @return list of points that located inside of set polygon
 	 * */
 	private List<Point> findSetPoints(List<Point> points) {
 
-		List<Point> spoints = new ArrayList<>();
+		// Find new set sides intersections with all points on canvas, in parallel for large number of points
+		List<Point> spoints;
+		if (points.size() >= Config.PARALLEL_THRESHOLD)
+			spoints = points.parallelStream().filter(polygon::isInsideOfPolygon).collect(Collectors.toCollection(ArrayList::new));
+		else
+			spoints = points.stream().filter(polygon::isInsideOfPolygon).collect(Collectors.toCollection(ArrayList::new));
 
-		// Find new set sides intersections with all points on canvas 
-		for (Point point : points)
-			// Determine that point is inside of set or not
-			if (polygon.isInsideOfPolygon(point))
-				spoints.add(point);
+		for (Point point : spoints)
+			if (point.getId() >= 0)
+				membership.set(point.getId());
 
 		return spoints;
 	}
-
-	/**
-	 * Get set non removed points of set.
-	 * @return list of non removed points
-	 * */
-	public List<Point> getNonRemovedPoints() {
-		List<Point> ps = new ArrayList<>();
-		for(Point p : getPoints())
-			if (!p.isColored())
-				ps.add(p);
-		return ps;
-	}
 }
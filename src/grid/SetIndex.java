@@ -0,0 +1,82 @@
+package grid;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Inverted index from points of grid to sets that contain them.
+ * Index is updated incrementally when points and sets are added or undone,
+ * so finding sets of a point or removing a point from its sets costs time in proportion to its sets only.
+ * Points are indexed by their id, so they must be added and removed in order of their ids.
+ * @author Majid Feyzi
+ * */
+class SetIndex {
+
+	// Sets of each point that is indexed by point id
+	private final List<List<Set>> sets = new ArrayList<>();
+
+	/**
+	 * Add new point without any set to index.
+	 * @param point point that has been added to grid
+	 * */
+	void addPoint(Point point) {
+		sets.add(new ArrayList<>());
+	}
+
+	/**
+	 * Remove last added point from index.
+	 * */
+	void removeLastPoint() {
+		sets.remove(sets.size() - 1);
+	}
+
+	/**
+	 * Add all points of new set to index.
+	 * @param set set that has been added to grid
+	 * */
+	void addSet(Set set) {
+		for (Point point : set.getPoints())
+			sets.get(point.getId()).add(set);
+	}
+
+	/**
+	 * Add a set to sets of a point.
+	 * @param set set that contains point
+	 * @param point point that has been added to set
+	 * */
+	void addSet(Set set, Point point) {
+		sets.get(point.getId()).add(set);
+	}
+
+	/**
+	 * Remove set from sets of its points.
+	 * Removed set is usually last set of its points, so it is checked first.
+	 * @param set set that has been removed from grid
+	 * */
+	void removeSet(Set set) {
+		for (Point point : set.getPoints()) {
+			List<Set> psets = sets.get(point.getId());
+			if (!psets.isEmpty() && psets.get(psets.size() - 1) == set)
+				psets.remove(psets.size() - 1);
+			else
+				psets.remove(set);
+		}
+	}
+
+	/**
+	 * Remove all points and sets from index.
+	 * */
+	void clear() {
+		sets.clear();
+	}
+
+	/**
+	 * Get sets that contain a point.
+	 * @param point point of grid
+	 * @return unmodifiable list of sets that contain point
+	 * */
+	List<Set> getSets(Point point) {
+		return Collections.unmodifiableList(sets.get(point.getId()));
+	}
+}
@@ -0,0 +1,21 @@
+package grid;
+
+/**
+ * Speeds of showing steps of solution automatically.
+ * Instant speed doesn't show steps and only shows final solution as soon as it is ready.
+ * @author Majid Feyzi
+ * */
+public enum Speed {
+	Slow(1000), Normal(250), Fast(50), Instant(0);
+
+	// Interval between steps in milliseconds
+	private final int interval;
+
+	Speed(int interval) {
+		this.interval = interval;
+	}
+
+	public int getInterval() {
+		return interval;
+	}
+}
@@ -0,0 +1,29 @@
+package grid;
+
+/**
+ * Text formats of points, polygons and covers that {@link InstanceText} reads and writes.
+ * Each line of text is one record. Empty lines are skipped, and so are CSV lines that start with a letter
+ * (such as headers) or with '#'.
+ * <pre>
+ *              CSV                          JSON_LINES
+ * point        x,y                          {"x": 10, "y": 20}
+ * polygon      cost,color,x1,y1,x2,y2,...   {"cost": 1, "color": "#a0b0c0", "vertices": [[x1, y1], [x2, y2], ...]}
+ * cover step   set,cost,covered             {"set": 3, "cost": 1, "covered": 12}
+ * </pre>
+ * Color is "#rrggbb" or a decimal rgb number. Set of a cover step is the index of the set,
+ * and covered is the number of points that the step covers for the first time.
+ * @author Majid Feyzi
+ * */
+public enum TextFormat {
+	CSV, JSON_LINES;
+
+	/**
+	 * Find format of a file by its extension.
+	 * @param name name of file
+	 * @return JSON lines for .json and .jsonl files, otherwise CSV
+	 * */
+	public static TextFormat of(String name) {
+		String lower = name.toLowerCase();
+		return lower.endsWith(".jsonl") || lower.endsWith(".json") ? JSON_LINES : CSV;
+	}
+}
@@ -0,0 +1,288 @@
+package grid;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Scanner of records of {@link TextFormat} that reads numbers and keys directly from a buffer of characters,
+ * so reading a record doesn't create any string.
+ * @author Majid Feyzi
+ * */
+class TextScanner {
+
+	private final Reader reader;
+
+	// Buffer of characters and position of next character in it
+	private final char[] buffer = new char[1 << 16];
+	private int position, limit;
+
+	// Number of current line that is used in errors
+	private long line = 1;
+
+	// Characters of a number that is too long to compute it exactly
+	private final StringBuilder digits = new StringBuilder();
+
+	TextScanner(Reader reader) {
+		this.reader = reader;
+	}
+
+	/**
+	 * Skip empty lines and lines that are not records, then check that there is another record or not.
+	 * @param csv true if lines that start with a letter or '#' must be skipped too
+	 * @return true if there is another record
+	 * */
+	boolean hasRecord(boolean csv) throws IOException {
+		while (true) {
+			skipSpaces();
+			int c = peek();
+			if (c == -1)
+				return false;
+			if (c == '\n' || (csv && (c == '#' || Character.isLetter(c))))
+				nextLine();
+			else
+				return true;
+		}
+	}
+
+	/**
+	 * Check that current record has been finished and move to next line.
+	 * */
+	void endRecord() throws IOException {
+		skipSpaces();
+		if (peek() != '\n' && peek() != -1)
+			throw error("Unexpected '" + (char) peek() + "' at end of record");
+		nextLine();
+	}
+
+	/**
+	 * Skip remaining characters of current line.
+	 * */
+	void nextLine() throws IOException {
+		int c;
+		do {
+			c = read();
+		} while (c != '\n' && c != -1);
+		line++;
+	}
+
+	/**
+	 * Skip spaces and consume a character if it is next character.
+	 * @param expected character to consume
+	 * @return true if character has been consumed
+	 * */
+	boolean skip(char expected) throws IOException {
+		skipSpaces();
+		if (peek() != expected)
+			return false;
+		position++;
+		return true;
+	}
+
+	void expect(char expected) throws IOException {
+		if (!skip(expected))
+			throw error("Expected '" + expected + "'");
+	}
+
+	/**
+	 * Read an integer number.
+	 * */
+	int readInt() throws IOException {
+		skipSpaces();
+		boolean negative = skip('-');
+		long value = 0;
+		int count = 0;
+		while (isDigit(peek())) {
+			value = value * 10 + (read() - '0');
+			if (value > Integer.MAX_VALUE + 1L)
+				throw error("Number is too large");
+			count++;
+		}
+		if (count == 0)
+			throw error("Expected a number");
+
+		value = negative ? -value : value;
+		if (value > Integer.MAX_VALUE)
+			throw error("Number is too large");
+		return (int) value;
+	}
+
+	/**
+	 * Read a decimal number.
+	 * Numbers with at most 15 digits and small exponents are computed exactly without creating a string.
+	 * */
+	double readDouble() throws IOException {
+		skipSpaces();
+		digits.setLength(0);
+		boolean negative = skip('-');
+		long mantissa = 0;
+		int count = 0, exponent = 0;
+		while (isDigit(peek())) {
+			mantissa = count < 18 ? mantissa * 10 + (peek() - '0') : mantissa;
+			digits.append((char) read());
+			count++;
+		}
+		if (peek() == '.') {
+			digits.append((char) read());
+			while (isDigit(peek())) {
+				if (count < 18) {
+					mantissa = mantissa * 10 + (peek() - '0');
+					exponent--;
+				}
+				digits.append((char) read());
+				count++;
+			}
+		}
+		if (count == 0)
+			throw error("Expected a number");
+		if (peek() == 'e' || peek() == 'E') {
+			digits.append((char) read());
+			if (peek() == '+' || peek() == '-')
+				digits.append((char) read());
+			while (isDigit(peek()))
+				digits.append((char) read());
+			return (negative ? -1 : 1) * parse();
+		}
+
+		double value;
+		if (count <= 15 && exponent >= -22)
+			value = exponent == 0 ? mantissa : mantissa / POWERS[-exponent];
+		else
+			value = parse();
+		return negative ? -value : value;
+	}
+
+	/**
+	 * Read a color that is "#rrggbb" with or without quotes or a decimal rgb number.
+	 * */
+	int readColor() throws IOException {
+		boolean quoted = skip('"');
+		int color;
+		if (skip('#')) {
+			color = 0;
+			int count = 0;
+			while (Character.digit(peek(), 16) >= 0 && count < 8) {
+				color = color * 16 + Character.digit(read(), 16);
+				count++;
+			}
+			if (count == 0)
+				throw error("Expected a hexadecimal color");
+		} else {
+			color = readInt();
+		}
+		if (quoted)
+			expect('"');
+		return color & 0xFFFFFF;
+	}
+
+	/**
+	 * Read a quoted key of JSON object and its colon.
+	 * @param keys known keys that are at most 32 keys
+	 * @return index of key in known keys or -1 if it is unknown
+	 * */
+	int readKey(String... keys) throws IOException {
+		expect('"');
+
+		// Key is compared with all known keys while it is read and bits of mismatched keys are set
+		int mismatched = 0;
+		int length = 0;
+		int c;
+		while ((c = read()) != '"') {
+			if (c == -1 || c == '\n')
+				throw error("Unterminated key");
+			for (int k = 0; k < keys.length; k++)
+				if (length >= keys[k].length() || keys[k].charAt(length) != c)
+					mismatched |= 1 << k;
+			length++;
+		}
+		expect(':');
+
+		for (int k = 0; k < keys.length; k++)
+			if ((mismatched & (1 << k)) == 0 && keys[k].length() == length)
+				return k;
+		return -1;
+	}
+
+	/**
+	 * Skip a JSON value of an unknown key.
+	 * */
+	void skipValue() throws IOException {
+		skipSpaces();
+		int depth = 0;
+		boolean quoted = false;
+		while (true) {
+			int c = peek();
+			if (c == -1 || c == '\n') {
+				if (depth > 0 || quoted)
+					throw error("Unterminated value");
+				return;
+			}
+			if (quoted) {
+				if (c == '\\')
+					read();
+				else if (c == '"')
+					quoted = false;
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == '[' || c == '{') {
+				depth++;
+			} else if (c == ']' || c == '}' || c == ',') {
+				if (depth == 0)
+					return;
+				if (c != ',')
+					depth--;
+			}
+			read();
+		}
+	}
+
+	IOException error(String message) {
+		return new IOException("Line " + line + ": " + message);
+	}
+
+	private double parse() throws IOException {
+		try {
+			return Double.parseDouble(digits.toString());
+		} catch (NumberFormatException e) {
+			throw error("Invalid number " + digits);
+		}
+	}
+
+	private void skipSpaces() throws IOException {
+		int c;
+		while ((c = peek()) == ' ' || c == '\t' || c == '\r')
+			position++;
+	}
+
+	private int peek() throws IOException {
+		if (position == limit && !fill())
+			return -1;
+		return buffer[position];
+	}
+
+	private int read() throws IOException {
+		if (position == limit && !fill())
+			return -1;
+		return buffer[position++];
+	}
+
+	private boolean fill() throws IOException {
+		int count = reader.read(buffer);
+		if (count <= 0)
+			return false;
+		position = 0;
+		limit = count;
+		return true;
+	}
+
+	private static boolean isDigit(int c) {
+		return c >= '0' && c <= '9';
+	}
+
+	// Powers of ten that are exact in double
+	private static final double[] POWERS = new double[23];
+	static {
+		POWERS[0] = 1;
+		for (int i = 1; i < POWERS.length; i++)
+			POWERS[i] = POWERS[i - 1] * 10;
+	}
+}
@@ -0,0 +1,96 @@
+package grid;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+/**
+ * Queue of user interface updates that runs them on event dispatch thread at a bounded frame rate.
+ * Updates can be posted from any thread and are coalesced by their kind,
+ * so only the last posted update of each kind is run in each frame
+ * and a fast producer such as background solver can't flood event dispatch thread.
+ * @author Majid Feyzi
+ * */
+class UpdateQueue {
+
+	// Pending updates by their kind in order of their first post
+	private final Map<Object, Runnable> pending = new LinkedHashMap<>();
+
+	// Minimum interval between frames in nanoseconds
+	private final long interval;
+
+	// Timer that runs pending updates on event dispatch thread
+	private final Timer timer;
+
+	// Time of last frame that is only used on event dispatch thread
+	private long flushed = System.nanoTime() - Long.MAX_VALUE / 2;
+
+	/**
+	 * Create update queue.
+	 * @param interval minimum interval between frames in milliseconds
+	 * */
+	UpdateQueue(int interval) {
+		this.interval = interval * 1000000L;
+		this.timer = new Timer(interval, e -> flush());
+		this.timer.setRepeats(false);
+	}
+
+	/**
+	 * Post an update to run it in next frame.
+	 * If there is a pending update of same kind, it is replaced by new update.
+	 * @param kind kind of update
+	 * @param update update to run on event dispatch thread
+	 * */
+	void post(Object kind, Runnable update) {
+		boolean schedule;
+		synchronized (pending) {
+			schedule = pending.isEmpty();
+			pending.put(kind, update);
+		}
+
+		// Only first update of a frame schedules the frame
+		if (schedule)
+			SwingUtilities.invokeLater(this::schedule);
+	}
+
+	/**
+	 * Remove pending updates.
+	 * */
+	void clear() {
+		synchronized (pending) {
+			pending.clear();
+		}
+	}
+
+	/**
+	 * Schedule next frame after interval of last frame.
+	 * */
+	private void schedule() {
+		long delay = (interval - (System.nanoTime() - flushed)) / 1000000L;
+		if (delay <= 0) {
+			flush();
+		} else {
+			timer.setInitialDelay((int) delay);
+			timer.restart();
+		}
+	}
+
+	/**
+	 * Run pending updates.
+	 * */
+	private void flush() {
+		List<Runnable> updates;
+		synchronized (pending) {
+			updates = new ArrayList<>(pending.values());
+			pending.clear();
+		}
+
+		flushed = System.nanoTime();
+		for (Runnable update : updates)
+			update.run();
+	}
+}
@@ -0,0 +1,243 @@
+package main;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import grid.InstanceFile;
+import grid.InstanceText;
+import grid.TextFormat;
+import solver.AnytimeSolver;
+import solver.Cover;
+import solver.Instance;
+import solver.Monitor;
+
+/**
+ * Command line runner that solves many instances without opening any window.
+ * Instances are binary instance files or text points files that their polygons are in a file beside them
+ * with same name that "points" is replaced with "polygons" in it (for example a.points.csv and a.polygons.csv).
+ * Arguments are instance files or directories of them, and "-" reads paths of instance files from standard input.
+ * Instances are solved by a pool of workers, and one CSV line of statistics is printed for each instance
+ * in order of completion. A summary of all solves is printed on standard error at the end.
+ * If an output directory is given, cover of each instance is written in it as name of instance with ".cover.csv"
+ * or ".cover.jsonl" extension.
+ * <pre>
+ * java -cp out main.Batch [--threads n] [--time-limit ms] [--out directory] [--format csv|jsonl] path...
+ * </pre>
+ * @author Majid Feyzi
+ * */
+public class Batch {
+
+	// Default time limit of solving each instance in milliseconds
+	private static final long DEFAULT_TIME_LIMIT = 1000;
+
+	// Number of workers
+	private int threads = Runtime.getRuntime().availableProcessors();
+
+	// Time limit of solving each instance in milliseconds
+	private long timeLimit = DEFAULT_TIME_LIMIT;
+
+	// Directory that covers are written in it or null if covers must not be written
+	private Path out;
+
+	// Format of written covers
+	private TextFormat format = TextFormat.CSV;
+
+	// Paths of instance files
+	private final List<Path> paths = new ArrayList<>();
+
+	public static void main(String[] args) {
+
+		// Runner must never open a window
+		System.setProperty("java.awt.headless", "true");
+
+		Batch batch = new Batch();
+		try {
+			batch.parse(args);
+		} catch (IllegalArgumentException | IOException e) {
+			System.err.println(e.getMessage());
+			System.err.println("Usage: java main.Batch [--threads n] [--time-limit ms] [--out directory] [--format csv|jsonl] path...");
+			System.exit(2);
+		}
+
+		System.exit(batch.run(System.out, System.err) ? 0 : 1);
+	}
+
+	/**
+	 * Parse options and find instance files.
+	 * */
+	private void parse(String[] args) throws IOException {
+		for (int i = 0; i < args.length; i++) {
+			String arg = args[i];
+			switch (arg) {
+			case "--threads":
+				threads = Integer.parseInt(value(args, ++i));
+				if (threads < 1)
+					throw new IllegalArgumentException("Number of threads must be positive");
+				break;
+			case "--time-limit":
+				timeLimit = Long.parseLong(value(args, ++i));
+				break;
+			case "--out":
+				out = Paths.get(value(args, ++i));
+				Files.createDirectories(out);
+				break;
+			case "--format":
+				format = value(args, ++i).startsWith("json") ? TextFormat.JSON_LINES : TextFormat.CSV;
+				break;
+			case "-":
+				BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+				String line;
+				while ((line = reader.readLine()) != null)
+					if (!line.trim().isEmpty())
+						add(Paths.get(line.trim()));
+				break;
+			default:
+				if (arg.startsWith("--"))
+					throw new IllegalArgumentException("Unknown option " + arg);
+				add(Paths.get(arg));
+			}
+		}
+		if (paths.isEmpty())
+			throw new IllegalArgumentException("No instance file");
+	}
+
+	private static String value(String[] args, int index) {
+		if (index >= args.length)
+			throw new IllegalArgumentException("Option " + args[index - 1] + " needs a value");
+		return args[index];
+	}
+
+	/**
+	 * Add an instance file or instance files of a directory.
+	 * Polygons files and covers are not instances, so they are skipped in directories.
+	 * */
+	private void add(Path path) throws IOException {
+		if (!Files.isDirectory(path)) {
+			paths.add(path);
+			return;
+		}
+
+		try (Stream<Path> files = Files.list(path)) {
+			List<Path> instances = files.filter(Files::isRegularFile)
+					.filter(file -> !name(file).contains(".polygons.") && !name(file).contains(".cover."))
+					.sorted()
+					.collect(Collectors.toList());
+			paths.addAll(instances);
+		}
+	}
+
+	/**
+	 * Solve all instances and print their statistics.
+	 * @return true if all instances have been solved
+	 * */
+	private boolean run(PrintStream stats, PrintStream errors) {
+		stats.println("instance,points,sets,load_ms,solve_ms,size,cost,complete,optimal");
+
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		AnytimeSolver solver = new AnytimeSolver(pool);
+		List<Future<Long>> solves = new ArrayList<>();
+		long start = System.nanoTime();
+		for (Path path : paths)
+			solves.add(pool.submit(() -> solve(path, solver, stats)));
+		pool.shutdown();
+
+		// Solve times of instances that has been solved in nanoseconds
+		List<Long> times = new ArrayList<>();
+		for (int i = 0; i < solves.size(); i++) {
+			try {
+				times.add(solves.get(i).get());
+			} catch (Exception e) {
+				Throwable cause = e.getCause() != null ? e.getCause() : e;
+				errors.println(paths.get(i) + ": " + cause);
+			}
+		}
+		long elapsed = System.nanoTime() - start;
+
+		Collections.sort(times);
+		errors.printf(Locale.ROOT, "solved %d of %d instances in %.1f s with %d threads (%.1f instances/s)%n",
+				times.size(), paths.size(), elapsed / 1e9, threads, times.size() / (elapsed / 1e9));
+		if (!times.isEmpty()) {
+			double sum = 0;
+			for (long time : times)
+				sum += time;
+			errors.printf(Locale.ROOT, "solve ms: mean %.1f, p50 %.1f, p95 %.1f, max %.1f%n",
+					sum / times.size() / 1e6, percentile(times, 0.5) / 1e6, percentile(times, 0.95) / 1e6, times.get(times.size() - 1) / 1e6);
+		}
+		return times.size() == paths.size();
+	}
+
+	/**
+	 * Load and solve one instance on current worker, write its cover and print its statistics.
+	 * @return solve time in nanoseconds
+	 * */
+	private long solve(Path path, AnytimeSolver solver, PrintStream stats) throws IOException {
+		long start = System.nanoTime();
+		Instance instance = load(path).toInstance();
+		long loaded = System.nanoTime();
+		Cover cover = solver.solve(instance, new Monitor(timeLimit, 0, null));
+		long solved = System.nanoTime();
+
+		if (out != null) {
+			String extension = format == TextFormat.CSV ? ".csv" : ".jsonl";
+			try (Writer writer = Files.newBufferedWriter(out.resolve(base(path) + ".cover" + extension))) {
+				InstanceText.writeCover(instance, cover.getSets(), writer, format);
+			}
+		}
+
+		String line = String.format(Locale.ROOT, "%s,%d,%d,%.1f,%.1f,%d,%s,%b,%b", name(path), instance.getUniverse(), instance.size(),
+				(loaded - start) / 1e6, (solved - loaded) / 1e6, cover.size(), cover.getCost(), cover.isComplete(), cover.isOptimal());
+		synchronized (stats) {
+			stats.println(line);
+		}
+		return solved - loaded;
+	}
+
+	/**
+	 * Load binary instance file or text points file with its polygons file.
+	 * */
+	private static InstanceFile load(Path path) throws IOException {
+		String name = name(path);
+		if (!name.contains(".points."))
+			return InstanceFile.load(path);
+
+		Path polygons = path.resolveSibling(name.replace(".points.", ".polygons."));
+		try (Reader points = Files.newBufferedReader(path);
+			 Reader sets = Files.exists(polygons) ? Files.newBufferedReader(polygons) : null) {
+			return InstanceText.read(points, sets, TextFormat.of(name));
+		}
+	}
+
+	private static String name(Path path) {
+		return path.getFileName().toString();
+	}
+
+	/**
+	 * Get name of instance without its extension, that is used as name of its cover.
+	 * */
+	private static String base(Path path) {
+		String name = name(path);
+		int end = name.contains(".points.") ? name.indexOf(".points.") : name.lastIndexOf('.');
+		return end > 0 ? name.substring(0, end) : name;
+	}
+
+	private static long percentile(List<Long> sorted, double fraction) {
+		return sorted.get(Math.min(sorted.size() - 1, (int) Math.ceil(fraction * sorted.size()) - 1));
+	}
+}
@@ -34,12 +34,16 @@ public class Help {
 			"<br />" +
 			"<b>Running the algorithm</b>:<br />" +
 			"After specifying sets, you can run algorithm step by step, by clicking on Next step button.<br />" +
-			"To run program automatically, Just click on Run button.<br />" +
+			"To run program automatically, Just click on Run button. speed of showing steps can be selected below the Run button and Instant speed only shows the final solution.<br />" +
 			"After finish steps or complete the run, the selected sets will be shown as sorted in a dialog box.<br />" +
 			"<br />" +
 			"<b>Generate random sets</b>:<br />" +
 			"If you want to generate random sets, you can click on the Random button, and it will be generate random sets.<br />" +
 			"<br />" +
+			"<b>Save and open</b>:<br />" +
+			"Points and sets can be saved in a binary file by clicking on the Save button and opened again by clicking on the Open button.<br />" +
+			"Points and polygons can be imported from CSV or JSON lines files by clicking on the Import button, and the last solution can be exported by clicking on the Export button.<br />" +
+			"<br />" +
 			"<b>Clear content</b>:<br />" +
 			"To clear all content of the plane, you can click on the Reset button." +
 			"<br />";
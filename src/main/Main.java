@@ -7,7 +7,12 @@ import javax.swing.*;
 import grid.Mode;
 import grid.Grid;
 import grid.Context;
+import grid.InstanceFile;
+import grid.InstanceText;
 import grid.Set;
+import grid.Speed;
+import grid.TextFormat;
+import solver.Progress;
 
 import java.awt.Color;
 import javax.swing.border.EmptyBorder;
@@ -18,6 +23,12 @@ import java.awt.Dimension;
 
 import java.awt.Font;
 import java.awt.FlowLayout;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import javax.swing.GroupLayout.Alignment;
 
@@ -35,15 +46,24 @@ public class Main extends Context {
 	private JPanel buttonsPanel;
 	private JPanel setsPanel;
 
+	// Rows of sets panel that are reused when sets change
+	private final List<SetRow> setRows = new ArrayList<>();
+
 	private ButtonGroup type;
 	private JRadioButton line;
 	private JRadioButton point;
 
+	private JComboBox<Speed> speed;
+
 	private JButton nextButton;
 	private JButton helpButton;
 	private JButton runButton;
 	private JButton randomButton;
 	private JButton clearButton;
+	private JButton openButton;
+	private JButton saveButton;
+	private JButton importButton;
+	private JButton exportButton;
 	private JButton exitButton;
 
 	/**
@@ -111,11 +131,6 @@ public class Main extends Context {
 			grid.clear();
 			point.doClick();
 
-			// Remove sets panel objects
-			setsPanel.removeAll();
-			setsPanel.revalidate();
-			setsPanel.repaint();
-
 			// Change focus to grid
 			grid.requestFocus();
 		});
@@ -130,12 +145,26 @@ public class Main extends Context {
 		
 		runButton = createButton("Run");
 		runButton.addActionListener(e -> {
-			grid.startAutoSolve();
+			grid.startAutoSolve((Speed) speed.getSelectedItem());
 
 			// Change focus to grid
 			grid.requestFocus();
 		});
 		buttonsPanel.add(runButton);
+
+		// Initialize speed of run, changing it while running changes speed of running
+		speed = new JComboBox<>(Speed.values());
+		speed.setSelectedItem(Speed.Slow);
+		speed.setPreferredSize(new Dimension(Config.BUTTON_WIDTH, Config.BUTTON_HEIGHT));
+		speed.setFont(new Font(Config.FONT_NAME, Font.BOLD, Config.FONT_SIZE));
+		speed.addActionListener(e -> {
+			if (grid.isAutoSolving())
+				grid.startAutoSolve((Speed) speed.getSelectedItem());
+
+			// Change focus to grid
+			grid.requestFocus();
+		});
+		buttonsPanel.add(speed);
 		buttonsPanel.add(nextButton);
 		
 		randomButton = createButton("Random");
@@ -151,6 +180,82 @@ public class Main extends Context {
 			} catch (Exception ignored) {}
 		});
 		buttonsPanel.add(randomButton);
+
+		// Initialize open and save buttons to load and save points and sets as instance file
+		openButton = createButton("Open");
+		openButton.addActionListener(e -> {
+			JFileChooser chooser = new JFileChooser();
+			if (chooser.showOpenDialog(frame) == JFileChooser.APPROVE_OPTION) {
+				try {
+					grid.load(InstanceFile.load(chooser.getSelectedFile().toPath()));
+				} catch (IOException ex) {
+					JOptionPane.showMessageDialog(frame, ex.getMessage(), "Open", JOptionPane.ERROR_MESSAGE);
+				}
+			}
+
+			// Change focus to grid
+			grid.requestFocus();
+		});
+		buttonsPanel.add(openButton);
+
+		saveButton = createButton("Save");
+		saveButton.addActionListener(e -> {
+			JFileChooser chooser = new JFileChooser();
+			if (chooser.showSaveDialog(frame) == JFileChooser.APPROVE_OPTION) {
+				try {
+					grid.toFile().save(chooser.getSelectedFile().toPath(), InstanceFile.Membership.CSR);
+				} catch (IOException ex) {
+					JOptionPane.showMessageDialog(frame, ex.getMessage(), "Save", JOptionPane.ERROR_MESSAGE);
+				}
+			}
+
+			// Change focus to grid
+			grid.requestFocus();
+		});
+		buttonsPanel.add(saveButton);
+
+		// Initialize import and export buttons to read points and polygons and write solution as CSV or JSON lines
+		importButton = createButton("Import");
+		importButton.addActionListener(e -> {
+			JFileChooser chooser = new JFileChooser();
+			chooser.setDialogTitle("Points");
+			if (chooser.showOpenDialog(frame) == JFileChooser.APPROVE_OPTION) {
+				Path points = chooser.getSelectedFile().toPath();
+
+				// Polygons are optional
+				chooser.setDialogTitle("Polygons");
+				Path polygons = chooser.showOpenDialog(frame) == JFileChooser.APPROVE_OPTION ? chooser.getSelectedFile().toPath() : null;
+				try (Reader pointsReader = Files.newBufferedReader(points);
+					 Reader polygonsReader = polygons == null ? null : Files.newBufferedReader(polygons)) {
+					grid.load(InstanceText.read(pointsReader, polygonsReader, TextFormat.of(points.toString())));
+				} catch (IOException ex) {
+					JOptionPane.showMessageDialog(frame, ex.getMessage(), "Import", JOptionPane.ERROR_MESSAGE);
+				}
+			}
+
+			// Change focus to grid
+			grid.requestFocus();
+		});
+		buttonsPanel.add(importButton);
+
+		exportButton = createButton("Export");
+		exportButton.addActionListener(e -> {
+			JFileChooser chooser = new JFileChooser();
+			if (grid.getSolution() == null) {
+				JOptionPane.showMessageDialog(frame, "There is no solution to export", "Export", JOptionPane.INFORMATION_MESSAGE);
+			} else if (chooser.showSaveDialog(frame) == JFileChooser.APPROVE_OPTION) {
+				Path path = chooser.getSelectedFile().toPath();
+				try (Writer writer = Files.newBufferedWriter(path)) {
+					grid.writeSolution(writer, TextFormat.of(path.toString()));
+				} catch (IOException ex) {
+					JOptionPane.showMessageDialog(frame, ex.getMessage(), "Export", JOptionPane.ERROR_MESSAGE);
+				}
+			}
+
+			// Change focus to grid
+			grid.requestFocus();
+		});
+		buttonsPanel.add(exportButton);
 		buttonsPanel.add(clearButton);
 
 		helpButton = createButton("Help");
@@ -216,41 +321,42 @@ public class Main extends Context {
 
 	@Override
 	public void onSetsChange(List<Set> sets) {
+		boolean changed = false;
+
+		// Update rows that their set has been changed and add rows of new sets
+		for (int i = 0; i < sets.size(); i++) {
+			Set set = sets.get(i);
+			if (i == setRows.size()) {
+				SetRow row = new SetRow();
+				setRows.add(row);
+				setsPanel.add(row.panel);
+			}
 
-		// Remove sets panel all objects
-		setsPanel.removeAll();
-		setsPanel.revalidate();
-		setsPanel.repaint();
-
-		for (Set set : sets) {
-
-			// Create a color square to show color of set beside it's title
-			JButton csquare = new JButton();
-			csquare.setBorder(BorderFactory.createCompoundBorder(
-					BorderFactory.createLineBorder(Color.black, 1),
-					BorderFactory.createLineBorder(set.getColor(), 7)
-			));
-			csquare.setBackground(set.getColor());
+			changed |= setRows.get(i).show(set);
+		}
 
-			// Create title label of set
-			JLabel title = new JLabel(set.getName());
-			title.setFont(new Font(Config.FONT_NAME, Font.PLAIN, Config.FONT_SIZE));
-			title.setBorder(new EmptyBorder(0, 5, 0, 5));
+		// Remove rows of removed sets from end of panel
+		while (setRows.size() > sets.size()) {
+			setsPanel.remove(setRows.remove(setRows.size() - 1).panel);
+			changed = true;
+		}
 
-			// Create a panel to add color square and title label beside each other in a row
-			JPanel p = new JPanel();
-			p.setLayout(new BoxLayout(p, BoxLayout.X_AXIS));
-			p.setBorder(new EmptyBorder(5, 5, 5, 5));
-			p.setBackground(Color.white);
-			p.setAlignmentX(0);
-			p.add(csquare);
-			p.add(title);
-
-			// Add set row to sets panel
-			setsPanel.add(p);
+		if (changed) {
+			setsPanel.revalidate();
+			setsPanel.repaint();
 		}
+	}
+
+	@Override
+	public void onSolveProgress(Progress progress) {
+		String best = progress.getBest() < 0 ? "" : ", best " + progress.getBest() + " sets";
+		frame.setTitle(String.format("Set Cover - solving: %d sets, %.0f%% covered%s",
+				progress.getSets().length, progress.getCoverage() * 100, best));
+	}
 
-		buttonsPanel.repaint();
+	@Override
+	public void onSolveStop() {
+		frame.setTitle("Set Cover");
 	}
 
 	@Override
@@ -302,4 +408,55 @@ public class Main extends Context {
 
 		return button;
 	}
+
+	/**
+	 * Row of sets panel that shows color and title of a set.
+	 * */
+	private static class SetRow {
+
+		// Create a color square to show color of set beside it's title
+		private final JButton csquare = new JButton();
+
+		// Create title label of set
+		private final JLabel title = new JLabel();
+
+		// Create a panel to add color square and title label beside each other in a row
+		private final JPanel panel = new JPanel();
+
+		// Name and color that are shown in row
+		private String name;
+		private Color color;
+
+		SetRow() {
+			title.setFont(new Font(Config.FONT_NAME, Font.PLAIN, Config.FONT_SIZE));
+			title.setBorder(new EmptyBorder(0, 5, 0, 5));
+
+			panel.setLayout(new BoxLayout(panel, BoxLayout.X_AXIS));
+			panel.setBorder(new EmptyBorder(5, 5, 5, 5));
+			panel.setBackground(Color.white);
+			panel.setAlignmentX(0);
+			panel.add(csquare);
+			panel.add(title);
+		}
+
+		/**
+		 * Show name and color of set in row if they are different from shown ones.
+		 * @param set set to show
+		 * @return true if row has been changed
+		 * */
+		boolean show(Set set) {
+			if (set.getName().equals(name) && set.getColor().equals(color))
+				return false;
+
+			name = set.getName();
+			color = set.getColor();
+			csquare.setBorder(BorderFactory.createCompoundBorder(
+					BorderFactory.createLineBorder(Color.black, 1),
+					BorderFactory.createLineBorder(color, 7)
+			));
+			csquare.setBackground(color);
+			title.setText(name);
+			return true;
+		}
+	}
 }
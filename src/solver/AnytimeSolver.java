@@ -0,0 +1,106 @@
+package solver;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Solver that runs in background and improves its cover until its time limit.
+ * Instance is reduced by {@link Reducer} until time limit, then reduced instance is solved by lazy greedy algorithm,
+ * that is not stopped by time limit, so there is always a feasible cover. Then cover is improved by local search,
+ * and if sets don't have different costs and instance is small enough, branch and bound search continues from it
+ * to find an optimal cover. See {@link ExactSolver#isSearchable}.
+ * Progress is reported to listener on the solving thread at most once in each interval,
+ * and best cover that has been found is returned when time limit is reached.
+ * If a previous cover of instance is given, its sets that remain after reduction are repaired by {@link RepairingSolver}
+ * instead of greedy algorithm and repaired cover is improved in same way, so quality of cover doesn't drift after many changes.
+ * @author Majid Feyzi
+ * */
+public class AnytimeSolver {
+
+	// Executor that runs solves
+	private final ExecutorService executor;
+
+	public AnytimeSolver(ExecutorService executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Start solving instance in background.
+	 * Cancelling returned future stops the solve.
+	 * @param instance instance to solve
+	 * @param timeLimit time limit in milliseconds or zero for no limit
+	 * @param interval minimum interval between progress reports in milliseconds
+	 * @param listener listener of progress or null
+	 * @return future of best cover that has been found
+	 * */
+	public CompletableFuture<Cover> solve(Instance instance, long timeLimit, long interval, ProgressListener listener) {
+		return solve(instance, null, timeLimit, interval, listener);
+	}
+
+	/**
+	 * Start repairing previous cover of instance or solving it if there is no previous cover, and improving it in background.
+	 * Cancelling returned future stops the solve.
+	 * @param instance instance to solve
+	 * @param previous indices of sets of previous cover or null
+	 * @param timeLimit time limit in milliseconds or zero for no limit
+	 * @param interval minimum interval between progress reports in milliseconds
+	 * @param listener listener of progress or null
+	 * @return future of best cover that has been found
+	 * */
+	public CompletableFuture<Cover> solve(Instance instance, int[] previous, long timeLimit, long interval, ProgressListener listener) {
+		Monitor monitor = new Monitor(timeLimit, interval, listener);
+		CompletableFuture<Cover> future = CompletableFuture.supplyAsync(() -> solve(instance, previous, monitor), executor);
+		future.whenComplete((cover, error) -> {
+			if (future.isCancelled())
+				monitor.cancel();
+		});
+		return future;
+	}
+
+	/**
+	 * Solve instance on current thread until monitor stops.
+	 * @param instance instance to solve
+	 * @param monitor monitor of solve
+	 * @return best cover that has been found
+	 * */
+	public Cover solve(Instance instance, Monitor monitor) {
+		return solve(instance, null, monitor);
+	}
+
+	/**
+	 * Repair previous cover of instance or solve it, then improve it on current thread until monitor stops.
+	 * @param instance instance to solve
+	 * @param previous indices of sets of previous cover or null
+	 * @param monitor monitor of solve
+	 * @return best cover that has been found
+	 * */
+	public Cover solve(Instance instance, int[] previous, Monitor monitor) {
+
+		// Reductions that has been applied until time limit are kept, so reduced instance is always valid
+		Reduction reduction = new Reducer().reduce(instance, monitor);
+		Instance reduced = reduction.getInstance();
+		Monitor forward = monitor.forward(progress -> {
+			int best = progress.getBest() < 0 ? -1 : progress.getBest() + reduction.getForced().length;
+			monitor.report(Progress.of(instance, reduction.expand(progress.getSets()), best));
+		});
+
+		// First cover is found even if time limit is reached, so there is always a feasible cover
+		SetCoverSolver first = previous != null ? new RepairingSolver(reduction.reduce(previous)) : new LazyGreedySolver();
+		Cover cover = first.solve(reduced, forward.withoutDeadline());
+		cover = reduction.expand(improve(reduced, cover, forward));
+		monitor.report(Progress.of(instance, cover.getSets(), cover.isComplete() ? cover.size() : -1));
+		return cover;
+	}
+
+	/**
+	 * Improve a cover by local search and then by branch and bound search in remaining time.
+	 * Branch and bound search is only used for instances without different costs that are small enough to search.
+	 * */
+	private static Cover improve(Instance instance, Cover cover, Monitor monitor) {
+		if (!monitor.isStopped())
+			cover = new LocalSearchSolver(new LazyGreedySolver()).improve(instance, cover, monitor);
+		if (!instance.isWeighted() && !monitor.isStopped())
+			cover = new ExactSolver().improve(instance, cover, monitor);
+		return cover;
+	}
+}
@@ -0,0 +1,65 @@
+package solver;
+
+/**
+ * Result of solving a set cover instance.
+ * Selected sets are kept in order of selection, so the solution can be shown step by step.
+ * @author Majid Feyzi
+ * */
+public class Cover {
+
+	// Indices of selected sets in order of selection
+	private final int[] sets;
+
+	// Total cost of selected sets
+	private final double cost;
+
+	// Whether selected sets cover all elements of universe or not
+	private final boolean complete;
+
+	// Whether it is proved that there is no better cover or not
+	private final boolean optimal;
+
+	public Cover(int[] sets, double cost, boolean complete) {
+		this(sets, cost, complete, false);
+	}
+
+	public Cover(int[] sets, double cost, boolean complete, boolean optimal) {
+		this.sets = sets;
+		this.cost = cost;
+		this.complete = complete;
+		this.optimal = optimal;
+	}
+
+	/**
+	 * Get index of set that has been selected in specified step.
+	 * @param step step of solution
+	 * @return index of selected set in instance
+	 * */
+	public int get(int step) {
+		return sets[step];
+	}
+
+	/**
+	 * Get number of selected sets.
+	 * @return number of selected sets
+	 * */
+	public int size() {
+		return sets.length;
+	}
+
+	public int[] getSets() {
+		return sets.clone();
+	}
+
+	public double getCost() {
+		return cost;
+	}
+
+	public boolean isComplete() {
+		return complete;
+	}
+
+	public boolean isOptimal() {
+		return optimal;
+	}
+}
@@ -0,0 +1,395 @@
+package solver;
+
+import java.util.Arrays;
+
+/**
+ * Exact branch and bound algorithm of set cover problem.
+ * Cover of another solver (lazy greedy by default) is used as initial upper bound.
+ * Before search, sets that their uncovered elements are subset of another set are removed
+ * and sets that are the only set of an element are selected, until nothing changes.
+ * In each node of search, the uncovered element with minimum number of sets is selected
+ * and each of its sets is tried, from the set with maximum gain. A node is pruned if selected sets
+ * plus a lower bound is not less than best cover. Lower bound is the maximum of number of uncovered elements
+ * that don't share any set and number of uncovered elements divided by maximum gain.
+ * Coverage of each node is kept in bitmap words, and gains of sets are counted while sets of uncovered elements are visited,
+ * so a node only touches sets that contain an uncovered element.
+ * If time limit is reached or monitor stops, best cover that has been found until then is returned and it is not optimal.
+ * Time limit is checked in every node and in every step of reductions.
+ * Instances that their bitmaps would be larger than {@link #MAX_WORDS} words are not searched,
+ * and cover of initial solver is returned for them.
+ * Each better cover is reported to monitor.
+ * Elements that are not inside of any set are ignored.
+ * This solver minimizes number of selected sets and costs of sets are not considered.
+ * @author Majid Feyzi
+ * */
+public class ExactSolver implements SetCoverSolver {
+
+	// Maximum number of bitmap words of sets and levels of search, larger instances are not searched
+	public static final long MAX_WORDS = 1 << 21;
+
+	// Solver that finds initial upper bound
+	private final SetCoverSolver initial;
+
+	// Time limit of search in milliseconds or zero for no limit
+	private final long timeLimit;
+
+	public ExactSolver() {
+		this(0);
+	}
+
+	public ExactSolver(long timeLimit) {
+		this(new LazyGreedySolver(), timeLimit);
+	}
+
+	public ExactSolver(SetCoverSolver initial, long timeLimit) {
+		this.initial = initial;
+		this.timeLimit = timeLimit;
+	}
+
+	@Override
+	public Cover solve(Instance instance) {
+		return solve(instance, Monitor.NONE);
+	}
+
+	@Override
+	public Cover solve(Instance instance, Monitor monitor) {
+		return improve(instance, initial.solve(instance, monitor), monitor);
+	}
+
+	/**
+	 * Search an optimal cover that is smaller than a cover until time limit is reached or monitor stops.
+	 * @param instance instance that cover belongs to
+	 * @param cover cover that is used as initial upper bound
+	 * @param monitor monitor of solve
+	 * @return best cover that has been found, that is given cover if instance is not searchable
+	 * */
+	public Cover improve(Instance instance, Cover cover, Monitor monitor) {
+		if (monitor.isStopped() || !isSearchable(instance, cover.size()))
+			return cover;
+		return new Search(instance, cover, monitor).run();
+	}
+
+	/**
+	 * Check that bitmaps of sets and levels of search of an instance are small enough to be searched.
+	 * @param instance instance to solve
+	 * @param depth size of initial cover that is maximum depth of search
+	 * @return true if instance can be searched
+	 * */
+	public static boolean isSearchable(Instance instance, int depth) {
+		long words = (instance.getUniverse() + 63) >>> 6;
+		return words * ((long) instance.size() + depth + 1) <= MAX_WORDS;
+	}
+
+	/**
+	 * State of one branch and bound search.
+	 * */
+	private class Search {
+
+		private final Instance instance;
+
+		// Number of bitmap words of universe
+		private final int words;
+
+		// Bitmap words of each set over whole universe
+		private final long[][] members;
+
+		// Uncovered elements of each depth of search, search never goes deeper than size of initial cover
+		private final long[][] levels;
+
+		// Sets that are not removed or excluded in current node
+		private final boolean[] available;
+
+		// Selected sets from root to current node
+		private final int[] chosen;
+
+		// Best cover that has been found
+		private int[] best;
+		private final boolean complete;
+
+		// Stamps of sets that are used by an element in lower bound computation
+		private final int[] used;
+		private int stamp;
+
+		// Number of uncovered elements of sets of current node, that are valid if their stamp is current visit
+		private final int[] gains;
+		private final int[] counted;
+		private int visit;
+
+		// Uncovered elements of current node sorted by number of their available sets
+		private final int[] elements;
+		private final int[] degrees;
+		private final int[] sorted;
+		private final int[] buckets;
+
+		// Time limit state
+		private final Monitor monitor;
+		private final long deadline;
+		private boolean timedOut;
+
+		Search(Instance instance, Cover cover, Monitor monitor) {
+			this.instance = instance;
+			this.monitor = monitor;
+			this.words = (instance.getUniverse() + 63) >>> 6;
+			this.members = new long[instance.size()][];
+			this.levels = new long[cover.size() + 1][words];
+			this.available = new boolean[instance.size()];
+			this.chosen = new int[instance.size()];
+			this.used = new int[instance.size()];
+			this.gains = new int[instance.size()];
+			this.counted = new int[instance.size()];
+			this.elements = new int[instance.getUniverse()];
+			this.degrees = new int[instance.getUniverse()];
+			this.sorted = new int[instance.getUniverse()];
+			this.buckets = new int[instance.size() + 2];
+			this.best = cover.getSets();
+			this.complete = cover.isComplete();
+			this.deadline = timeLimit > 0 ? System.nanoTime() + timeLimit * 1000000L : Long.MAX_VALUE;
+
+			// Elements that must be covered are elements of union of sets
+			for (int i = 0; i < instance.size(); i++) {
+				members[i] = Arrays.copyOf(instance.getMembership(i).toLongArray(), words);
+				available[i] = true;
+				for (int w = 0; w < words; w++)
+					levels[0][w] |= members[i][w];
+			}
+		}
+
+		Cover run() {
+			int size = reduce();
+			if (size < best.length && !timedOut) {
+
+				// Search continues after selected sets of reduction
+				System.arraycopy(levels[0], 0, levels[size], 0, words);
+				search(size);
+			}
+			return new Cover(best, instance.getCost(best), complete, !timedOut);
+		}
+
+		/**
+		 * Remove dominated sets and select essential sets of root until nothing changes.
+		 * Selected sets are kept at beginning of chosen sets and root coverage is updated.
+		 * @return number of selected sets
+		 * */
+		private int reduce() {
+			long[] uncovered = levels[0];
+			int size = 0;
+			boolean changed = true;
+			while (changed) {
+				changed = false;
+
+				// Set that doesn't cover any uncovered element or is subset of another set is not needed,
+				// only sets of an uncovered element of a set can contain it
+				for (int s = 0; s < instance.size(); s++) {
+					if (isTimedOut())
+						return size;
+					if (!available[s])
+						continue;
+					int first = firstUncovered(s, uncovered);
+					if (first == -1) {
+						available[s] = false;
+						changed = true;
+						continue;
+					}
+					for (int t : instance.getSetsOf(first)) {
+						if (t != s && available[t] && isDominated(s, t, uncovered)) {
+							available[s] = false;
+							changed = true;
+							break;
+						}
+					}
+				}
+
+				// Element that is inside of only one set, makes that set essential
+				for (int e = nextElement(uncovered, 0); e >= 0; e = nextElement(uncovered, e + 1)) {
+					if (isTimedOut())
+						return size;
+					int only = -1, degree = 0;
+					for (int s : instance.getSetsOf(e))
+						if (available[s]) {
+							only = s;
+							degree++;
+						}
+					if (degree == 1) {
+						chosen[size++] = only;
+						available[only] = false;
+						for (int w = 0; w < words; w++)
+							uncovered[w] &= ~members[only][w];
+						changed = true;
+					}
+				}
+			}
+
+			if (isEmpty(uncovered) && size < best.length)
+				best = Arrays.copyOf(chosen, size);
+			return size;
+		}
+
+		/**
+		 * Check that uncovered elements of first set are subset of uncovered elements of second set.
+		 * Between two sets with same uncovered elements, the set with higher index is dominated.
+		 * */
+		private boolean isDominated(int s, int t, long[] uncovered) {
+			boolean equal = true;
+			for (int w = 0; w < words; w++) {
+				long a = members[s][w] & uncovered[w], b = members[t][w] & uncovered[w];
+				if ((a & ~b) != 0)
+					return false;
+				if (a != b)
+					equal = false;
+			}
+			return !equal || s > t;
+		}
+
+		/**
+		 * Search all covers that contain selected sets of current node.
+		 * @param size number of selected sets
+		 * */
+		private void search(int size) {
+			if (isTimedOut())
+				return;
+
+			long[] uncovered = levels[size];
+			if (isEmpty(uncovered)) {
+				if (size < best.length) {
+					best = Arrays.copyOf(chosen, size);
+					if (complete && monitor.isReportDue())
+						monitor.report(Progress.of(instance, best, best.length));
+				}
+				return;
+			}
+
+			// At least one more set is needed
+			if (size + 1 >= best.length)
+				return;
+
+			// Count available sets of each uncovered element and select element with minimum count to branch on,
+			// uncovered elements of each set are counted at same time
+			visit++;
+			int count = 0, element = -1, minDegree = Integer.MAX_VALUE, maxGain = 0;
+			for (int e = nextElement(uncovered, 0); e >= 0; e = nextElement(uncovered, e + 1)) {
+				int degree = 0;
+				for (int s : instance.getSetsOf(e))
+					if (available[s]) {
+						degree++;
+						if (counted[s] != visit) {
+							counted[s] = visit;
+							gains[s] = 0;
+						}
+						maxGain = Math.max(maxGain, ++gains[s]);
+					}
+				if (degree == 0)
+					return;
+				elements[count] = e;
+				degrees[count++] = degree;
+				if (degree < minDegree) {
+					element = e;
+					minDegree = degree;
+				}
+			}
+
+			if (size + lowerBound(count, maxGain) >= best.length)
+				return;
+
+			// Sort sets of element by their gain from maximum to minimum
+			int[] candidates = new int[minDegree];
+			long[] keys = new long[minDegree];
+			count = 0;
+			for (int s : instance.getSetsOf(element))
+				if (available[s]) {
+					candidates[count] = s;
+					keys[count++] = ((long) gains[s] << 32) | (0xFFFFFFFFL - s);
+				}
+			Arrays.sort(keys);
+
+			// Each branch covers element by one set and excludes sets of previous branches
+			long[] next = levels[size + 1];
+			for (int k = count - 1; k >= 0 && !timedOut; k--) {
+				int s = (int) (0xFFFFFFFFL - (keys[k] & 0xFFFFFFFFL));
+				for (int w = 0; w < words; w++)
+					next[w] = uncovered[w] & ~members[s][w];
+				chosen[size] = s;
+				available[s] = false;
+				search(size + 1);
+			}
+			for (int k = 0; k < count; k++)
+				available[candidates[k]] = true;
+		}
+
+		/**
+		 * Compute lower bound of number of sets that are needed to cover uncovered elements.
+		 * Uncovered elements and their number of available sets must be in elements and degrees.
+		 * @param count number of uncovered elements
+		 * @param maxGain maximum number of uncovered elements of an available set
+		 * */
+		private int lowerBound(int count, int maxGain) {
+
+			// Elements with less sets are checked first, because they block less other elements
+			Arrays.fill(buckets, 0);
+			for (int i = 0; i < count; i++)
+				buckets[degrees[i] + 1]++;
+			for (int d = 1; d < buckets.length; d++)
+				buckets[d] += buckets[d - 1];
+			for (int i = 0; i < count; i++)
+				sorted[buckets[degrees[i]]++] = elements[i];
+
+			// Elements that don't share any available set need different sets
+			stamp++;
+			int disjoint = 0;
+			for (int i = 0; i < count; i++) {
+				int e = sorted[i];
+				boolean free = true;
+				for (int s : instance.getSetsOf(e))
+					if (available[s] && used[s] == stamp) {
+						free = false;
+						break;
+					}
+				if (free) {
+					disjoint++;
+					for (int s : instance.getSetsOf(e))
+						if (available[s])
+							used[s] = stamp;
+				}
+			}
+
+			// Each set covers at most maximum gain elements
+			return Math.max(disjoint, (count + maxGain - 1) / maxGain);
+		}
+
+		/**
+		 * Find first uncovered element of a set.
+		 * @return first uncovered element or -1 if all elements of set are covered
+		 * */
+		private int firstUncovered(int s, long[] uncovered) {
+			for (int e : instance.getSet(s))
+				if ((uncovered[e >>> 6] & (1L << e)) != 0)
+					return e;
+			return -1;
+		}
+
+		private boolean isTimedOut() {
+			if (!timedOut && (System.nanoTime() > deadline || monitor.isStopped()))
+				timedOut = true;
+			return timedOut;
+		}
+
+		private int nextElement(long[] bits, int from) {
+			int w = from >>> 6;
+			if (w >= words)
+				return -1;
+			long word = bits[w] & (-1L << from);
+			while (word == 0) {
+				if (++w == words)
+					return -1;
+				word = bits[w];
+			}
+			return (w << 6) + Long.numberOfTrailingZeros(word);
+		}
+
+		private boolean isEmpty(long[] bits) {
+			for (long word : bits)
+				if (word != 0)
+					return false;
+			return true;
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package solver;
+
+/**
+ * Binary max heap of set indices ordered by their gain.
+ * Sets with equal gain are ordered by lower index, so solvers that use it stay deterministic.
+ * Gains are kept in a primitive array and only the top of the heap can be updated,
+ * which is the only operation that lazy evaluation needs.
+ * @author Majid Feyzi
+ * */
+class GainHeap {
+
+	// Set indices in heap order
+	private final int[] heap;
+
+	// Gain of each set that is indexed by set index
+	private final double[] gains;
+
+	// Number of sets inside heap
+	private int size;
+
+	GainHeap(int capacity) {
+		this.heap = new int[capacity];
+		this.gains = new double[capacity];
+	}
+
+	/**
+	 * Add set to heap.
+	 * @param set index of set
+	 * @param gain gain of set
+	 * */
+	void add(int set, double gain) {
+		gains[set] = gain;
+		heap[size] = set;
+		siftUp(size++);
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Get set with maximum gain without removing it.
+	 * @return index of top set
+	 * */
+	int peek() {
+		return heap[0];
+	}
+
+	/**
+	 * Get gain of top set.
+	 * @return gain of top set
+	 * */
+	double peekGain() {
+		return gains[heap[0]];
+	}
+
+	/**
+	 * Remove set with maximum gain.
+	 * @return index of removed set
+	 * */
+	int poll() {
+		int top = heap[0];
+		heap[0] = heap[--size];
+		if (size > 0)
+			siftDown(0);
+		return top;
+	}
+
+	/**
+	 * Change gain of top set and restore heap order.
+	 * Gain can only decrease, because it is an upper bound that becomes exact.
+	 * @param gain new gain of top set
+	 * */
+	void updateTop(double gain) {
+		gains[heap[0]] = gain;
+		siftDown(0);
+	}
+
+	private boolean isBefore(int first, int second) {
+		return gains[first] > gains[second] || (gains[first] == gains[second] && first < second);
+	}
+
+	private void siftUp(int index) {
+		int set = heap[index];
+		while (index > 0) {
+			int parent = (index - 1) >>> 1;
+			if (!isBefore(set, heap[parent]))
+				break;
+			heap[index] = heap[parent];
+			index = parent;
+		}
+		heap[index] = set;
+	}
+
+	private void siftDown(int index) {
+		int set = heap[index];
+		int half = size >>> 1;
+		while (index < half) {
+			int child = 2 * index + 1;
+			if (child + 1 < size && isBefore(heap[child + 1], heap[child]))
+				child++;
+			if (!isBefore(heap[child], set))
+				break;
+			heap[index] = heap[child];
+			index = child;
+		}
+		heap[index] = set;
+	}
+}
@@ -0,0 +1,68 @@
+package solver;
+
+import java.util.Arrays;
+
+/**
+ * Greedy approximation algorithm of set cover problem.
+ * In each step the most cost effective set is selected, that is the set with maximum number of uncovered elements
+ * per unit of cost, until there is no set that covers any uncovered element. Ties are broken by lower set index.
+ * If all sets have same cost, it is the set that covers maximum number of uncovered elements.
+ * Number of uncovered elements of each set is kept up to date using inverted index of instance,
+ * so covering an element only updates sets that contain it.
+ * @author Majid Feyzi
+ * */
+public class GreedySolver implements SetCoverSolver {
+
+	@Override
+	public Cover solve(Instance instance) {
+
+		long[] covered = instance.createCoverage();
+		boolean[] selected = new boolean[instance.size()];
+		int[] order = new int[instance.size()];
+		int count = 0;
+		int remaining = instance.getUniverse();
+
+		// Number of uncovered elements of each set
+		int[] gains = new int[instance.size()];
+		for (int i = 0; i < instance.size(); i++)
+			gains[i] = instance.getSet(i).length;
+
+		while (remaining > 0) {
+
+			// Find the set with maximum number of uncovered elements per unit of cost
+			int best = -1;
+			double bestRatio = 0;
+			for (int i = 0; i < instance.size(); i++) {
+				if (selected[i] || gains[i] == 0)
+					continue;
+				double ratio = gains[i] / instance.getCost(i);
+				if (best == -1 || ratio > bestRatio) {
+					best = i;
+					bestRatio = ratio;
+				}
+			}
+
+			// Remaining elements are not inside of any set
+			if (best == -1)
+				break;
+
+			// Select set and mark its elements as covered
+			selected[best] = true;
+			order[count++] = best;
+			for (int element : instance.getSet(best)) {
+				long mask = 1L << element;
+				if ((covered[element >>> 6] & mask) == 0) {
+					covered[element >>> 6] |= mask;
+					remaining--;
+
+					// Element is not uncovered for sets that contain it anymore
+					for (int set : instance.getSetsOf(element))
+						gains[set]--;
+				}
+			}
+		}
+
+		int[] sets = Arrays.copyOf(order, count);
+		return new Cover(sets, instance.getCost(sets), remaining == 0);
+	}
+}
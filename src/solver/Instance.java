@@ -0,0 +1,278 @@
+package solver;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Abstract instance of set cover problem that solvers work on it.
+ * Elements of universe are identified by dense integer ids from 0 to universe - 1
+ * and each set is an array of element ids, so an instance doesn't depend on grid or any drawable object.
+ * Dense sets also keep their membership as bitmap words between their lowest and highest word,
+ * so counting uncovered elements of a set is a word-wise and with popcount.
+ * Instance keeps an inverted index from each element to sets that contain it too,
+ * so covering an element costs time in proportion to number of sets that contain it.
+ * Each set has a non negative cost that is one for instances without costs.
+ * Coverage state is not kept in instance, so several solves can run over the same instance at once.
+ * @author Majid Feyzi
+ * */
+public class Instance {
+
+	// Number of elements in universe
+	private final int universe;
+
+	// Sorted element ids of each set without duplications
+	private final int[][] sets;
+
+	// Bitmap words of dense sets (null for sparse sets) and index of their first word
+	private final long[][] words;
+	private final int[] offsets;
+
+	// Cost of each set
+	private final double[] costs;
+
+	// Indices of sets that contain each element
+	private int[][] containing;
+
+	public Instance(int universe, List<int[]> sets) {
+		this(universe, sets, null);
+	}
+
+	public Instance(int universe, List<int[]> sets, double[] costs) {
+		this(universe, sets.size(), costs);
+		for (int i = 0; i < sets.size(); i++) {
+			BitSet membership = new BitSet();
+			for (int element : sets.get(i)) {
+				if (element < 0 || element >= universe)
+					throw new IllegalArgumentException("Element " + element + " of set " + i + " is not in universe");
+				membership.set(element);
+			}
+			index(i, membership);
+		}
+		invert();
+	}
+
+	/**
+	 * Create instance from membership bitmap of sets that all of them have same cost.
+	 * @param universe number of elements in universe
+	 * @param memberships bitmap of element ids of each set
+	 * @return instance of set cover problem
+	 * */
+	public static Instance fromMemberships(int universe, List<BitSet> memberships) {
+		return fromMemberships(universe, memberships, null);
+	}
+
+	/**
+	 * Create instance from membership bitmap of sets.
+	 * @param universe number of elements in universe
+	 * @param memberships bitmap of element ids of each set
+	 * @param costs cost of each set or null if all costs are one
+	 * @return instance of set cover problem
+	 * */
+	public static Instance fromMemberships(int universe, List<BitSet> memberships, double[] costs) {
+		Instance instance = new Instance(universe, memberships.size(), costs);
+		for (int i = 0; i < memberships.size(); i++) {
+			BitSet membership = memberships.get(i);
+			if (membership.length() > universe)
+				throw new IllegalArgumentException("Element " + (membership.length() - 1) + " of set " + i + " is not in universe");
+			instance.index(i, membership);
+		}
+		instance.invert();
+		return instance;
+	}
+
+	private Instance(int universe, int size, double[] costs) {
+		if (universe < 0)
+			throw new IllegalArgumentException("Universe size can not be negative: " + universe);
+		if (costs != null && costs.length != size)
+			throw new IllegalArgumentException("Number of costs " + costs.length + " is not equal to number of sets " + size);
+
+		this.costs = new double[size];
+		for (int i = 0; i < size; i++) {
+			this.costs[i] = costs == null ? 1 : costs[i];
+			if (!(this.costs[i] >= 0) || Double.isInfinite(this.costs[i]))
+				throw new IllegalArgumentException("Cost of set " + i + " must be a non negative number: " + this.costs[i]);
+		}
+
+		this.universe = universe;
+		this.sets = new int[size][];
+		this.words = new long[size][];
+		this.offsets = new int[size];
+	}
+
+	/**
+	 * Keep element ids of set and its bitmap words if set is dense.
+	 * A set is dense when it has at least one element per word of its range.
+	 * */
+	private void index(int set, BitSet membership) {
+		int[] elements = new int[membership.cardinality()];
+		int count = 0;
+		for (int element = membership.nextSetBit(0); element >= 0; element = membership.nextSetBit(element + 1))
+			elements[count++] = element;
+		sets[set] = elements;
+
+		if (elements.length > 0) {
+			int first = elements[0] >>> 6;
+			int last = elements[elements.length - 1] >>> 6;
+			if (last - first + 1 <= elements.length) {
+				long[] all = membership.toLongArray();
+				long[] range = new long[last - first + 1];
+				System.arraycopy(all, first, range, 0, range.length);
+				words[set] = range;
+				offsets[set] = first;
+			}
+		}
+	}
+
+	/**
+	 * Build inverted index from elements to sets that contain them.
+	 * */
+	private void invert() {
+		int[] counts = new int[universe];
+		for (int[] set : sets)
+			for (int element : set)
+				counts[element]++;
+
+		containing = new int[universe][];
+		for (int element = 0; element < universe; element++)
+			containing[element] = new int[counts[element]];
+
+		// Sets are visited in order of their indices, so each list is sorted
+		Arrays.fill(counts, 0);
+		for (int i = 0; i < sets.length; i++)
+			for (int element : sets[i])
+				containing[element][counts[element]++] = i;
+	}
+
+	public int getUniverse() {
+		return universe;
+	}
+
+	/**
+	 * Get number of sets of instance.
+	 * @return number of sets
+	 * */
+	public int size() {
+		return sets.length;
+	}
+
+	/**
+	 * Get elements of a set.
+	 * Returned array is shared with instance and must not be modified.
+	 * @param index index of set
+	 * @return sorted element ids of set
+	 * */
+	public int[] getSet(int index) {
+		return sets[index];
+	}
+
+	/**
+	 * Get cost of a set.
+	 * @param index index of set
+	 * @return cost of set
+	 * */
+	public double getCost(int index) {
+		return costs[index];
+	}
+
+	/**
+	 * Get total cost of some sets.
+	 * @param indices indices of sets
+	 * @return sum of costs of sets
+	 * */
+	public double getCost(int[] indices) {
+		double cost = 0;
+		for (int index : indices)
+			cost += costs[index];
+		return cost;
+	}
+
+	/**
+	 * Check that sets have different costs or not.
+	 * @return true if there are at least two sets with different costs
+	 * */
+	public boolean isWeighted() {
+		for (double cost : costs)
+			if (cost != costs[0])
+				return true;
+		return false;
+	}
+
+	/**
+	 * Get sets that contain an element.
+	 * Returned array is shared with instance and must not be modified.
+	 * @param element id of element
+	 * @return sorted indices of sets that contain element
+	 * */
+	public int[] getSetsOf(int element) {
+		return containing[element];
+	}
+
+	/**
+	 * Get elements of a set as bitmap.
+	 * @param index index of set
+	 * @return new bitmap of element ids of set
+	 * */
+	public BitSet getMembership(int index) {
+		BitSet membership = new BitSet(universe);
+		for (int element : sets[index])
+			membership.set(element);
+		return membership;
+	}
+
+	/**
+	 * Create empty coverage bitmap for elements of universe.
+	 * @return bitmap words that all elements are uncovered in it
+	 * */
+	public long[] createCoverage() {
+		return new long[(universe + 63) >>> 6];
+	}
+
+	/**
+	 * Count elements of a set that are not covered yet.
+	 * @param index index of set
+	 * @param covered coverage bitmap words that is created by {@link #createCoverage()}
+	 * @return number of uncovered elements of set
+	 * */
+	public int countUncovered(int index, long[] covered) {
+		int count = 0;
+		long[] setWords = words[index];
+		if (setWords != null) {
+			int offset = offsets[index];
+			for (int i = 0; i < setWords.length; i++)
+				count += Long.bitCount(setWords[i] & ~covered[offset + i]);
+		} else {
+			for (int element : sets[index])
+				if ((covered[element >>> 6] & (1L << element)) == 0)
+					count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Mark all elements of a set as covered.
+	 * @param index index of set
+	 * @param covered coverage bitmap words that is created by {@link #createCoverage()}
+	 * @return number of elements that has been covered by this set for first time
+	 * */
+	public int cover(int index, long[] covered) {
+		int count = 0;
+		long[] setWords = words[index];
+		if (setWords != null) {
+			int offset = offsets[index];
+			for (int i = 0; i < setWords.length; i++) {
+				count += Long.bitCount(setWords[i] & ~covered[offset + i]);
+				covered[offset + i] |= setWords[i];
+			}
+		} else {
+			for (int element : sets[index]) {
+				long mask = 1L << element;
+				if ((covered[element >>> 6] & mask) == 0) {
+					covered[element >>> 6] |= mask;
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+}
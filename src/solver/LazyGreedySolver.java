@@ -0,0 +1,63 @@
+package solver;
+
+import java.util.Arrays;
+
+/**
+ * Greedy approximation algorithm of set cover problem with lazy evaluation of gains.
+ * Number of uncovered elements of a set can only decrease when other sets are selected,
+ * so previous ratios of uncovered elements to cost are upper bounds of current ratios.
+ * Sets are kept in a max heap by these stale bounds and only the ratio of the top set is computed again.
+ * If its exact ratio is still on top, no other set can be more cost effective.
+ * Selected sets are exactly same as {@link GreedySolver}, but each step usually evaluates only a few sets.
+ * If monitor stops the solve, sets that has been selected until then are returned as an incomplete cover.
+ * @author Majid Feyzi
+ * */
+public class LazyGreedySolver implements SetCoverSolver {
+
+	@Override
+	public Cover solve(Instance instance) {
+		return solve(instance, Monitor.NONE);
+	}
+
+	@Override
+	public Cover solve(Instance instance, Monitor monitor) {
+
+		long[] covered = instance.createCoverage();
+		int[] order = new int[instance.size()];
+		int count = 0;
+		int remaining = instance.getUniverse();
+
+		// At first, size of each set is upper bound of its uncovered elements
+		GainHeap heap = new GainHeap(instance.size());
+		for (int i = 0; i < instance.size(); i++)
+			if (instance.getSet(i).length > 0)
+				heap.add(i, instance.getSet(i).length / instance.getCost(i));
+
+		while (remaining > 0 && !heap.isEmpty() && !monitor.isStopped()) {
+			int top = heap.peek();
+
+			// Compute exact number of uncovered elements of top set
+			int gain = instance.countUncovered(top, covered);
+
+			if (gain == 0) {
+				heap.poll();
+			} else if (gain / instance.getCost(top) < heap.peekGain()) {
+
+				// Bound was stale, so set must be placed again in heap
+				heap.updateTop(gain / instance.getCost(top));
+			} else {
+
+				// Select set and mark its elements as covered
+				heap.poll();
+				order[count++] = top;
+				remaining -= instance.cover(top, covered);
+
+				if (monitor.isReportDue())
+					monitor.report(Progress.of(instance, Arrays.copyOf(order, count), -1));
+			}
+		}
+
+		int[] sets = Arrays.copyOf(order, count);
+		return new Cover(sets, instance.getCost(sets), remaining == 0);
+	}
+}
@@ -0,0 +1,308 @@
+package solver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Solver that improves cover of another solver by local search.
+ * Number of selected sets that cover each element is kept, so each move is checked in time of size of its sets.
+ * These moves are applied until none of them makes cover cheaper or time limit is reached:
+ * <ul>
+ * <li>A selected set that all of its elements are covered by other selected sets is redundant, so it is removed.
+ * Expensive sets and sets that has been selected later are removed first.</li>
+ * <li>A set is added and selected sets that become redundant are removed, if they cost more than added set.
+ * This move replaces two sets with one when all sets have same cost.</li>
+ * <li>A selected set is replaced with two sets that cover its elements, if they cost less than it.
+ * This move is only tried when sets have different costs.</li>
+ * </ul>
+ * Each improvement is reported to monitor and search stops when monitor stops.
+ * @author Majid Feyzi
+ * */
+public class LocalSearchSolver implements SetCoverSolver {
+
+	// Solver that finds initial cover
+	private final SetCoverSolver solver;
+
+	// Time limit of improvement in milliseconds or zero for no limit
+	private final long timeLimit;
+
+	public LocalSearchSolver(SetCoverSolver solver) {
+		this(solver, 0);
+	}
+
+	public LocalSearchSolver(SetCoverSolver solver, long timeLimit) {
+		this.solver = solver;
+		this.timeLimit = timeLimit;
+	}
+
+	@Override
+	public Cover solve(Instance instance) {
+		return solve(instance, Monitor.NONE);
+	}
+
+	@Override
+	public Cover solve(Instance instance, Monitor monitor) {
+		return improve(instance, solver.solve(instance, monitor), monitor);
+	}
+
+	/**
+	 * Improve a cover by local search.
+	 * @param instance instance that cover belongs to
+	 * @param cover cover to improve
+	 * @return cover with less or equal cost that covers same elements
+	 * */
+	public Cover improve(Instance instance, Cover cover) {
+		return improve(instance, cover, Monitor.NONE);
+	}
+
+	/**
+	 * Improve a cover by local search until no move improves it, time limit is reached or monitor stops.
+	 * @param instance instance that cover belongs to
+	 * @param cover cover to improve
+	 * @param monitor monitor of solve
+	 * @return cover with less or equal cost that covers same elements
+	 * */
+	public Cover improve(Instance instance, Cover cover, Monitor monitor) {
+		return new Search(instance, cover, monitor).run();
+	}
+
+	/**
+	 * State of local search of one cover.
+	 * */
+	private class Search {
+
+		private final Instance instance;
+		private final Cover cover;
+
+		// Whether each set is selected and order of first selection of each set
+		private final boolean[] selected;
+		private final int[] ranks;
+		private int rank;
+
+		// Number of selected sets that cover each element
+		private final int[] counts;
+
+		// Stamps of sets that has been visited in current move
+		private final int[] visited;
+		private int stamp;
+
+		private final long deadline;
+		private final Monitor monitor;
+		private final boolean weighted;
+
+		Search(Instance instance, Cover cover, Monitor monitor) {
+			this.instance = instance;
+			this.cover = cover;
+			this.monitor = monitor;
+			this.selected = new boolean[instance.size()];
+			this.ranks = new int[instance.size()];
+			this.counts = new int[instance.getUniverse()];
+			this.visited = new int[instance.size()];
+			this.deadline = timeLimit > 0 ? System.nanoTime() + timeLimit * 1000000L : Long.MAX_VALUE;
+			this.weighted = instance.isWeighted();
+
+			for (int s : cover.getSets())
+				select(s);
+		}
+
+		Cover run() {
+			boolean improved = true;
+			while (improved && !isTimedOut()) {
+				improved = removeRedundantSets() | replaceWithOneSet() | (weighted && replaceWithTwoSets());
+				if (improved && cover.isComplete() && monitor.isReportDue()) {
+					int[] sets = sets();
+					monitor.report(Progress.of(instance, sets, sets.length));
+				}
+			}
+
+			int[] sets = sets();
+			return new Cover(sets, instance.getCost(sets), cover.isComplete(), cover.isOptimal());
+		}
+
+		private int[] sets() {
+			Integer[] order = order();
+			int[] sets = new int[order.length];
+			for (int i = 0; i < sets.length; i++)
+				sets[i] = order[i];
+			return sets;
+		}
+
+		/**
+		 * Remove selected sets that all of their elements are covered by other sets.
+		 * @return true if any set has been removed
+		 * */
+		private boolean removeRedundantSets() {
+			Integer[] candidates = order();
+			for (int i = 0, j = candidates.length - 1; i < j; i++, j--) {
+				Integer swap = candidates[i];
+				candidates[i] = candidates[j];
+				candidates[j] = swap;
+			}
+			Arrays.sort(candidates, (a, b) -> Double.compare(instance.getCost(b), instance.getCost(a)));
+
+			boolean removed = false;
+			for (int s : candidates)
+				if (isRedundant(s)) {
+					deselect(s);
+					removed = true;
+				}
+			return removed;
+		}
+
+		/**
+		 * Add a set if selected sets that become redundant by it cost more than it.
+		 * @return true if cover has been improved
+		 * */
+		private boolean replaceWithOneSet() {
+			boolean improved = false;
+			for (int c = 0; c < instance.size() && !isTimedOut(); c++) {
+				if (selected[c] || instance.getSet(c).length == 0)
+					continue;
+
+				select(c);
+
+				// Selected sets that share an element with added set may become redundant
+				List<Integer> touched = touchedSets(c);
+				touched.sort((a, b) -> Double.compare(instance.getCost(b), instance.getCost(a)));
+				List<Integer> removed = new ArrayList<>();
+				double saving = 0;
+				for (int s : touched)
+					if (isRedundant(s)) {
+						deselect(s);
+						removed.add(s);
+						saving += instance.getCost(s);
+					}
+
+				if (saving > instance.getCost(c)) {
+					improved = true;
+				} else {
+
+					// Move doesn't make cover cheaper, so it is undone
+					for (int s : removed)
+						select(s);
+					deselect(c);
+				}
+			}
+			return improved;
+		}
+
+		/**
+		 * Replace a selected set with two sets that cover its elements and cost less than it.
+		 * @return true if cover has been improved
+		 * */
+		private boolean replaceWithTwoSets() {
+			boolean improved = false;
+			for (int a : order()) {
+				if (isTimedOut())
+					break;
+
+				// Elements that only this set covers must be covered by new sets
+				List<Integer> unique = new ArrayList<>();
+				for (int e : instance.getSet(a))
+					if (counts[e] == 1)
+						unique.add(e);
+				if (unique.isEmpty())
+					continue;
+
+				int[] pair = findPair(a, unique);
+				if (pair != null) {
+					deselect(a);
+					select(pair[0]);
+					select(pair[1]);
+					improved = true;
+				}
+			}
+			return improved;
+		}
+
+		/**
+		 * Find two unselected sets that cover some elements and cost less than a set.
+		 * First set must contain first element and second set must contain first element that first set doesn't contain.
+		 * */
+		private int[] findPair(int a, List<Integer> elements) {
+			double limit = instance.getCost(a);
+			for (int c : instance.getSetsOf(elements.get(0))) {
+				if (selected[c] || instance.getCost(c) >= limit)
+					continue;
+
+				int missing = -1;
+				for (int e : elements)
+					if (Arrays.binarySearch(instance.getSet(c), e) < 0) {
+						missing = e;
+						break;
+					}
+				if (missing == -1)
+					continue;
+
+				for (int d : instance.getSetsOf(missing)) {
+					if (selected[d] || d == c || instance.getCost(c) + instance.getCost(d) >= limit)
+						continue;
+
+					boolean covers = true;
+					for (int e : elements)
+						if (Arrays.binarySearch(instance.getSet(c), e) < 0 && Arrays.binarySearch(instance.getSet(d), e) < 0) {
+							covers = false;
+							break;
+						}
+					if (covers)
+						return new int[] {c, d};
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * Find selected sets that share at least one element with a set.
+		 * */
+		private List<Integer> touchedSets(int set) {
+			stamp++;
+			visited[set] = stamp;
+			List<Integer> touched = new ArrayList<>();
+			for (int e : instance.getSet(set))
+				for (int s : instance.getSetsOf(e))
+					if (selected[s] && visited[s] != stamp) {
+						visited[s] = stamp;
+						touched.add(s);
+					}
+			return touched;
+		}
+
+		private boolean isRedundant(int set) {
+			for (int e : instance.getSet(set))
+				if (counts[e] < 2)
+					return false;
+			return true;
+		}
+
+		/**
+		 * Get selected sets in order of their first selection.
+		 * */
+		private Integer[] order() {
+			List<Integer> order = new ArrayList<>();
+			for (int s = 0; s < selected.length; s++)
+				if (selected[s])
+					order.add(s);
+			order.sort((a, b) -> Integer.compare(ranks[a], ranks[b]));
+			return order.toArray(new Integer[0]);
+		}
+
+		private void select(int set) {
+			selected[set] = true;
+			if (ranks[set] == 0)
+				ranks[set] = ++rank;
+			for (int e : instance.getSet(set))
+				counts[e]++;
+		}
+
+		private void deselect(int set) {
+			selected[set] = false;
+			for (int e : instance.getSet(set))
+				counts[e]--;
+		}
+
+		private boolean isTimedOut() {
+			return System.nanoTime() > deadline || monitor.isStopped();
+		}
+	}
+}
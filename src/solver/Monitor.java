@@ -0,0 +1,107 @@
+package solver;
+
+/**
+ * Monitor of a running solve that solvers check to stop and use to report their progress.
+ * A solve is stopped when its deadline passes, it is cancelled or its thread is interrupted.
+ * A stopped solver returns best cover that it has found until then.
+ * Progress is reported at most once in each interval to keep listener cheap.
+ * @author Majid Feyzi
+ * */
+public class Monitor {
+
+	// Monitor that never stops and doesn't report anything
+	public static final Monitor NONE = new Monitor(0, 0, null);
+
+	// Deadline in nanoseconds of System.nanoTime()
+	private final long deadline;
+
+	// Minimum interval between reports in nanoseconds
+	private final long interval;
+
+	// Listener of progress or null
+	private final ProgressListener listener;
+
+	// Monitor that this monitor forwards its stop state to, or null
+	private final Monitor parent;
+
+	private volatile boolean cancelled;
+
+	// Time of last report
+	private long reported = Long.MIN_VALUE / 2;
+
+	/**
+	 * Create monitor.
+	 * @param timeLimit time limit in milliseconds or zero for no limit
+	 * @param interval minimum interval between reports in milliseconds
+	 * @param listener listener of progress or null
+	 * */
+	public Monitor(long timeLimit, long interval, ProgressListener listener) {
+		this.deadline = timeLimit > 0 ? System.nanoTime() + timeLimit * 1000000L : Long.MAX_VALUE;
+		this.interval = interval * 1000000L;
+		this.listener = listener;
+		this.parent = null;
+	}
+
+	private Monitor(Monitor parent, ProgressListener listener, long deadline) {
+		this.deadline = deadline;
+		this.interval = parent.interval;
+		this.listener = listener;
+		this.parent = parent;
+	}
+
+	/**
+	 * Create monitor that stops with this monitor and reports to another listener.
+	 * It is used by solvers that solve another instance and must convert progress before reporting it.
+	 * @param listener listener of progress
+	 * @return new monitor
+	 * */
+	public Monitor forward(ProgressListener listener) {
+		return new Monitor(this, listener, deadline);
+	}
+
+	/**
+	 * Create monitor that reports to same listener and only stops when this monitor is cancelled or thread is interrupted.
+	 * It is used to find a first feasible cover even if time limit is reached.
+	 * @return new monitor
+	 * */
+	public Monitor withoutDeadline() {
+		return new Monitor(this, listener, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Stop the solve.
+	 * */
+	public void cancel() {
+		cancelled = true;
+	}
+
+	public boolean isStopped() {
+		return isCancelled() || System.nanoTime() > deadline || Thread.currentThread().isInterrupted();
+	}
+
+	private boolean isCancelled() {
+		return cancelled || (parent != null && parent.isCancelled());
+	}
+
+	/**
+	 * Check that interval has been passed since last report or not.
+	 * Solvers check it before creating progress, so progress is not created when it will not be reported.
+	 * A monitor that forwards to another monitor is only due when that monitor is due too,
+	 * so progress is not converted when nobody listens to it.
+	 * @return true if progress must be reported
+	 * */
+	public boolean isReportDue() {
+		return listener != null && (parent == null || parent.isReportDue()) && System.nanoTime() - reported >= interval;
+	}
+
+	/**
+	 * Report progress to listener.
+	 * @param progress current progress
+	 * */
+	public void report(Progress progress) {
+		if (listener == null)
+			return;
+		reported = System.nanoTime();
+		listener.onProgress(progress);
+	}
+}
@@ -0,0 +1,58 @@
+package solver;
+
+/**
+ * Progress of a running solve that is reported to a {@link ProgressListener}.
+ * It contains the sets that has been selected until now, the fraction of coverable elements that they cover
+ * and size of the best complete cover that has been found until now.
+ * @author Majid Feyzi
+ * */
+public class Progress {
+
+	// Indices of sets that has been selected until now
+	private final int[] sets;
+
+	// Fraction of elements that are inside of at least one set and are covered by selected sets
+	private final double coverage;
+
+	// Size of best complete cover that has been found or -1 if there is no such cover yet
+	private final int best;
+
+	public Progress(int[] sets, double coverage, int best) {
+		this.sets = sets;
+		this.coverage = coverage;
+		this.best = best;
+	}
+
+	/**
+	 * Create progress of selected sets of an instance.
+	 * @param instance instance that is solving
+	 * @param sets indices of selected sets
+	 * @param best size of best complete cover or -1 if there is no such cover yet
+	 * @return progress of solve
+	 * */
+	public static Progress of(Instance instance, int[] sets, int best) {
+		long[] covered = instance.createCoverage();
+		int count = 0;
+		for (int set : sets)
+			count += instance.cover(set, covered);
+
+		int coverable = 0;
+		for (int element = 0; element < instance.getUniverse(); element++)
+			if (instance.getSetsOf(element).length > 0)
+				coverable++;
+
+		return new Progress(sets, coverable == 0 ? 1 : (double) count / coverable, best);
+	}
+
+	public int[] getSets() {
+		return sets.clone();
+	}
+
+	public double getCoverage() {
+		return coverage;
+	}
+
+	public int getBest() {
+		return best;
+	}
+}
@@ -0,0 +1,16 @@
+package solver;
+
+/**
+ * Listener that is notified of progress of a running solve.
+ * It is called on the thread that solves the problem.
+ * @author Majid Feyzi
+ * @see Monitor
+ * */
+public interface ProgressListener {
+
+	/**
+	 * This method notify progress of solve.
+	 * @param progress current progress
+	 * */
+	void onProgress(Progress progress);
+}
@@ -0,0 +1,290 @@
+package solver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Preprocessor that makes an instance smaller before solving it.
+ * These reductions are applied again and again until nothing changes:
+ * <ul>
+ * <li>A set that is the only set of an element is essential, so it is selected and its elements are covered.</li>
+ * <li>A set that its active elements are subset of another set with less or equal cost is dominated, so it is removed.
+ * Between two sets with same active elements and same cost, the set with higher index is removed.</li>
+ * <li>Elements that are inside of exactly same sets are identical, so only the one with lower id is kept.</li>
+ * </ul>
+ * Reductions don't change cost of minimum cover, so an optimal cover of reduced instance
+ * with forced sets is an optimal cover of original instance.
+ * Elements that are not inside of any set are ignored.
+ * If monitor stops, reductions that has been applied until then are returned, so reduced instance is still valid.
+ * @author Majid Feyzi
+ * @see Reduction
+ * */
+public class Reducer {
+
+	/**
+	 * Reduce instance.
+	 * @param instance instance to reduce
+	 * @return reduced instance with forced and removed sets
+	 * */
+	public Reduction reduce(Instance instance) {
+		return reduce(instance, Monitor.NONE);
+	}
+
+	/**
+	 * Reduce instance until nothing changes or monitor stops.
+	 * @param instance instance to reduce
+	 * @param monitor monitor of solve
+	 * @return reduced instance with forced and removed sets
+	 * */
+	public Reduction reduce(Instance instance, Monitor monitor) {
+		return new State(instance, monitor).run();
+	}
+
+	/**
+	 * State of reductions of one instance.
+	 * Active elements are elements that must still be covered and are not identical to another element.
+	 * */
+	private static class State {
+
+		private final Instance instance;
+		private final Monitor monitor;
+
+		// Sets that are not selected or removed
+		private final boolean[] alive;
+
+		// Elements that are not covered or merged
+		private final boolean[] active;
+
+		// Number of active elements of each set and number of alive sets of each element
+		private final int[] sizes;
+		private final int[] degrees;
+
+		private final List<Integer> forced = new ArrayList<>();
+		private final List<Integer> removed = new ArrayList<>();
+
+		State(Instance instance, Monitor monitor) {
+			this.instance = instance;
+			this.monitor = monitor;
+			this.alive = new boolean[instance.size()];
+			this.active = new boolean[instance.getUniverse()];
+			this.sizes = new int[instance.size()];
+			this.degrees = new int[instance.getUniverse()];
+
+			Arrays.fill(alive, true);
+			for (int s = 0; s < instance.size(); s++)
+				sizes[s] = instance.getSet(s).length;
+			for (int e = 0; e < instance.getUniverse(); e++) {
+				degrees[e] = instance.getSetsOf(e).length;
+				active[e] = degrees[e] > 0;
+			}
+		}
+
+		Reduction run() {
+			boolean changed = true;
+			while (changed && !monitor.isStopped())
+				changed = selectEssentialSets() | removeDominatedSets() | mergeIdenticalElements();
+
+			return build();
+		}
+
+		/**
+		 * Select sets that are the only set of an active element.
+		 * @return true if any set has been selected
+		 * */
+		private boolean selectEssentialSets() {
+			boolean changed = false;
+			for (int e = 0; e < active.length && !monitor.isStopped(); e++) {
+				if (!active[e] || degrees[e] != 1)
+					continue;
+
+				for (int s : instance.getSetsOf(e))
+					if (alive[s]) {
+						forced.add(s);
+						for (int element : instance.getSet(s))
+							if (active[element])
+								deactivate(element);
+						kill(s);
+						break;
+					}
+				changed = true;
+			}
+			return changed;
+		}
+
+		/**
+		 * Remove sets without active elements and sets that are subset of another set.
+		 * Only sets of the active element of a set with minimum number of sets can contain it.
+		 * @return true if any set has been removed
+		 * */
+		private boolean removeDominatedSets() {
+			boolean changed = false;
+			for (int s = 0; s < alive.length && !monitor.isStopped(); s++) {
+				if (!alive[s])
+					continue;
+
+				if (sizes[s] == 0) {
+					kill(s);
+					removed.add(s);
+					changed = true;
+					continue;
+				}
+
+				int rarest = -1;
+				for (int e : instance.getSet(s))
+					if (active[e] && (rarest == -1 || degrees[e] < degrees[rarest]))
+						rarest = e;
+
+				for (int t : instance.getSetsOf(rarest)) {
+					if (t == s || !alive[t] || sizes[t] < sizes[s] || instance.getCost(t) > instance.getCost(s))
+						continue;
+
+					// Between equal sets with equal costs, only set with lower index can dominate
+					if (sizes[t] == sizes[s] && instance.getCost(t) == instance.getCost(s) && t > s)
+						continue;
+					if (isSubset(s, t)) {
+						kill(s);
+						removed.add(s);
+						changed = true;
+						break;
+					}
+				}
+			}
+			return changed;
+		}
+
+		/**
+		 * Deactivate elements that are inside of same alive sets as an element with lower id.
+		 * @return true if any element has been deactivated
+		 * */
+		private boolean mergeIdenticalElements() {
+			boolean changed = false;
+			Map<Long, List<Integer>> groups = new HashMap<>();
+			for (int e = 0; e < active.length && !monitor.isStopped(); e++) {
+				if (!active[e])
+					continue;
+
+				long hash = degrees[e];
+				for (int s : instance.getSetsOf(e))
+					if (alive[s])
+						hash = hash * 1000003 + s;
+
+				List<Integer> group = groups.computeIfAbsent(hash, k -> new ArrayList<>());
+				boolean identical = false;
+				for (int other : group)
+					if (isIdentical(e, other)) {
+						identical = true;
+						break;
+					}
+
+				if (identical) {
+					deactivate(e);
+					changed = true;
+				} else {
+					group.add(e);
+				}
+			}
+			return changed;
+		}
+
+		/**
+		 * Check that active elements of first set are inside of second set.
+		 * Elements of sets are sorted, so they are checked like merging.
+		 * */
+		private boolean isSubset(int s, int t) {
+			int[] first = instance.getSet(s), second = instance.getSet(t);
+			int j = 0;
+			for (int e : first) {
+				if (!active[e])
+					continue;
+				while (j < second.length && second[j] < e)
+					j++;
+				if (j == second.length || second[j] != e)
+					return false;
+			}
+			return true;
+		}
+
+		/**
+		 * Check that two elements are inside of same alive sets.
+		 * Sets of elements are sorted, so they are compared like merging.
+		 * */
+		private boolean isIdentical(int e, int f) {
+			if (degrees[e] != degrees[f])
+				return false;
+			int[] first = instance.getSetsOf(e), second = instance.getSetsOf(f);
+			int i = 0, j = 0;
+			while (true) {
+				while (i < first.length && !alive[first[i]])
+					i++;
+				while (j < second.length && !alive[second[j]])
+					j++;
+				if (i == first.length || j == second.length)
+					return i == first.length && j == second.length;
+				if (first[i++] != second[j++])
+					return false;
+			}
+		}
+
+		private void deactivate(int element) {
+			active[element] = false;
+			for (int s : instance.getSetsOf(element))
+				if (alive[s])
+					sizes[s]--;
+		}
+
+		private void kill(int set) {
+			alive[set] = false;
+			for (int e : instance.getSet(set))
+				if (active[e])
+					degrees[e]--;
+		}
+
+		/**
+		 * Create reduced instance from alive sets and active elements.
+		 * */
+		private Reduction build() {
+			int[] ids = new int[active.length];
+			int[] elements = new int[active.length];
+			int universe = 0;
+			boolean coverable = true;
+			for (int e = 0; e < active.length; e++) {
+				if (instance.getSetsOf(e).length == 0)
+					coverable = false;
+				if (active[e]) {
+					ids[e] = universe;
+					elements[universe++] = e;
+				}
+			}
+
+			List<int[]> rsets = new ArrayList<>();
+			int[] sets = new int[alive.length];
+			double[] costs = new double[alive.length];
+			for (int s = 0; s < alive.length; s++) {
+				if (!alive[s])
+					continue;
+				costs[rsets.size()] = instance.getCost(s);
+				int[] rset = new int[sizes[s]];
+				int count = 0;
+				for (int e : instance.getSet(s))
+					if (active[e])
+						rset[count++] = ids[e];
+				sets[rsets.size()] = s;
+				rsets.add(rset);
+			}
+
+			int[] forcedSets = toArray(forced);
+			return new Reduction(new Instance(universe, rsets, Arrays.copyOf(costs, rsets.size())), Arrays.copyOf(sets, rsets.size()),
+					Arrays.copyOf(elements, universe), forcedSets, toArray(removed), instance.getCost(forcedSets), coverable);
+		}
+
+		private static int[] toArray(List<Integer> list) {
+			int[] array = new int[list.size()];
+			for (int i = 0; i < array.length; i++)
+				array[i] = list.get(i);
+			return array;
+		}
+	}
+}
@@ -0,0 +1,35 @@
+package solver;
+
+/**
+ * Solver that reduces instance by {@link Reducer} before solving it with another solver.
+ * Sets that are forced by reductions are placed at beginning of cover.
+ * Progress of solver is converted to progress of original instance before reporting.
+ * @author Majid Feyzi
+ * */
+public class ReducingSolver implements SetCoverSolver {
+
+	private final Reducer reducer = new Reducer();
+
+	// Solver of reduced instance
+	private final SetCoverSolver solver;
+
+	public ReducingSolver(SetCoverSolver solver) {
+		this.solver = solver;
+	}
+
+	@Override
+	public Cover solve(Instance instance) {
+		return solve(instance, Monitor.NONE);
+	}
+
+	@Override
+	public Cover solve(Instance instance, Monitor monitor) {
+		Reduction reduction = reducer.reduce(instance, monitor);
+		Monitor forward = monitor.forward(progress -> {
+			int[] sets = reduction.expand(progress.getSets());
+			int best = progress.getBest() < 0 ? -1 : progress.getBest() + reduction.getForced().length;
+			monitor.report(Progress.of(instance, sets, best));
+		});
+		return reduction.expand(solver.solve(reduction.getInstance(), forward));
+	}
+}
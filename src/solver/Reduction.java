@@ -0,0 +1,116 @@
+package solver;
+
+import java.util.Arrays;
+
+/**
+ * Result of reducing an instance by {@link Reducer}.
+ * It keeps the smaller instance and the ids of its sets and elements in the original instance,
+ * with sets that has been selected or removed by reductions, so cover of reduced instance can be expanded.
+ * @author Majid Feyzi
+ * */
+public class Reduction {
+
+	// Reduced instance
+	private final Instance instance;
+
+	// Original index of each set and original id of each element of reduced instance
+	private final int[] sets;
+	private final int[] elements;
+
+	// Original indices of sets that must be in cover and sets that are not needed
+	private final int[] forced;
+	private final int[] removed;
+
+	// Total cost of forced sets
+	private final double forcedCost;
+
+	// Whether all elements of original instance are inside of at least one set or not
+	private final boolean coverable;
+
+	Reduction(Instance instance, int[] sets, int[] elements, int[] forced, int[] removed, double forcedCost, boolean coverable) {
+		this.instance = instance;
+		this.sets = sets;
+		this.elements = elements;
+		this.forced = forced;
+		this.removed = removed;
+		this.forcedCost = forcedCost;
+		this.coverable = coverable;
+	}
+
+	public Instance getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Get index of a set of reduced instance in original instance.
+	 * @param index index of set in reduced instance
+	 * @return index of set in original instance
+	 * */
+	public int getOriginalSet(int index) {
+		return sets[index];
+	}
+
+	/**
+	 * Get id of an element of reduced instance in original instance.
+	 * @param element id of element in reduced instance
+	 * @return id of element in original instance
+	 * */
+	public int getOriginalElement(int element) {
+		return elements[element];
+	}
+
+	public int[] getForced() {
+		return forced.clone();
+	}
+
+	public int[] getRemoved() {
+		return removed.clone();
+	}
+
+	/**
+	 * Convert sets of original instance to sets of reduced instance.
+	 * Sets that has been forced or removed by reductions and sets that don't exist are skipped.
+	 * @param indices indices of sets in original instance
+	 * @return indices of remaining sets in reduced instance in same order
+	 * */
+	public int[] reduce(int[] indices) {
+		int size = 0;
+		for (int set : sets)
+			size = Math.max(size, set + 1);
+		int[] reduced = new int[size];
+		Arrays.fill(reduced, -1);
+		for (int i = 0; i < sets.length; i++)
+			reduced[sets[i]] = i;
+
+		int[] result = new int[indices.length];
+		int count = 0;
+		for (int set : indices)
+			if (set >= 0 && set < size && reduced[set] >= 0)
+				result[count++] = reduced[set];
+		return Arrays.copyOf(result, count);
+	}
+
+	/**
+	 * Convert cover of reduced instance to cover of original instance.
+	 * Forced sets are placed at beginning of cover in order of their selection.
+	 * @param cover cover of reduced instance
+	 * @return cover of original instance
+	 * */
+	public Cover expand(Cover cover) {
+		return new Cover(expand(cover.getSets()), forcedCost + cover.getCost(), coverable && cover.isComplete(), cover.isOptimal());
+	}
+
+	/**
+	 * Convert sets of reduced instance to sets of original instance.
+	 * Forced sets are placed at beginning in order of their selection.
+	 * @param indices indices of sets in reduced instance
+	 * @return indices of forced sets and sets in original instance
+	 * */
+	public int[] expand(int[] indices) {
+		int[] expanded = new int[forced.length + indices.length];
+		System.arraycopy(forced, 0, expanded, 0, forced.length);
+		for (int i = 0; i < indices.length; i++)
+			expanded[forced.length + i] = sets[indices[i]];
+		return expanded;
+	}
+}
@@ -0,0 +1,110 @@
+package solver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Solver that repairs a previous cover after instance has been changed instead of solving it from scratch.
+ * Sets of previous cover are kept, so indices of sets must not change between the two instances.
+ * Previous sets that don't exist anymore are ignored.
+ * Elements that are not covered by previous sets are covered greedily by the most cost effective sets,
+ * but only sets that contain an uncovered element are evaluated.
+ * Then selected sets that all of their elements are covered by other selected sets are removed,
+ * expensive sets and sets that has been selected later first.
+ * When a few elements or sets are added to a large instance, the repair only touches sets around them.
+ * @author Majid Feyzi
+ * */
+public class RepairingSolver implements SetCoverSolver {
+
+	// Indices of sets of previous cover
+	private final int[] previous;
+
+	public RepairingSolver(int[] previous) {
+		this.previous = previous.clone();
+	}
+
+	@Override
+	public Cover solve(Instance instance) {
+		return solve(instance, Monitor.NONE);
+	}
+
+	@Override
+	public Cover solve(Instance instance, Monitor monitor) {
+
+		long[] covered = instance.createCoverage();
+		boolean[] selected = new boolean[instance.size()];
+		List<Integer> order = new ArrayList<>();
+
+		// Number of selected sets that cover each element
+		int[] counts = new int[instance.getUniverse()];
+
+		for (int set : previous)
+			if (set < instance.size() && !selected[set] && instance.getSet(set).length > 0)
+				select(instance, set, selected, order, counts, covered);
+
+		// Only sets that contain an uncovered element can cover it
+		GainHeap heap = new GainHeap(instance.size());
+		boolean[] queued = new boolean[instance.size()];
+		int remaining = 0;
+		for (int element = 0; element < counts.length; element++) {
+			if (counts[element] > 0)
+				continue;
+
+			remaining++;
+			for (int set : instance.getSetsOf(element))
+				if (!queued[set]) {
+					queued[set] = true;
+					heap.add(set, instance.countUncovered(set, covered) / instance.getCost(set));
+				}
+		}
+
+		// Cover uncovered elements by lazy greedy selection
+		while (!heap.isEmpty() && !monitor.isStopped()) {
+			int top = heap.peek();
+			int gain = instance.countUncovered(top, covered);
+
+			if (gain == 0) {
+				heap.poll();
+			} else if (gain / instance.getCost(top) < heap.peekGain()) {
+				heap.updateTop(gain / instance.getCost(top));
+			} else {
+				heap.poll();
+				remaining -= select(instance, top, selected, order, counts, covered);
+			}
+		}
+
+		// Remove redundant sets, expensive sets and sets that has been selected later first
+		List<Integer> candidates = new ArrayList<>(order);
+		Collections.reverse(candidates);
+		candidates.sort((a, b) -> Double.compare(instance.getCost(b), instance.getCost(a)));
+		for (int set : candidates)
+			if (isRedundant(instance, set, counts)) {
+				selected[set] = false;
+				for (int element : instance.getSet(set))
+					counts[element]--;
+			}
+
+		int[] sets = order.stream().filter(set -> selected[set]).mapToInt(Integer::intValue).toArray();
+		return new Cover(sets, instance.getCost(sets), remaining == 0);
+	}
+
+	/**
+	 * Select a set and count its elements.
+	 * @return number of elements that has been covered by set for first time
+	 * */
+	private static int select(Instance instance, int set, boolean[] selected, List<Integer> order, int[] counts, long[] covered) {
+		selected[set] = true;
+		order.add(set);
+		for (int element : instance.getSet(set))
+			counts[element]++;
+		return instance.cover(set, covered);
+	}
+
+	private static boolean isRedundant(Instance instance, int set, int[] counts) {
+		for (int element : instance.getSet(set))
+			if (counts[element] < 2)
+				return false;
+		return true;
+	}
+}
@@ -0,0 +1,30 @@
+package solver;
+
+/**
+ * Solver of set cover problem.
+ * A solver gets an instance and returns selected sets in one call without any dependency to user interface,
+ * so it can be used by grid to show solution step by step or directly on large batches of instances.
+ * @author Majid Feyzi
+ * @see Instance
+ * @see Cover
+ * */
+public interface SetCoverSolver {
+
+	/**
+	 * Select sets to cover elements of universe.
+	 * @param instance instance to solve
+	 * @return selected sets in order of selection
+	 * */
+	Cover solve(Instance instance);
+
+	/**
+	 * Select sets to cover elements of universe, stop when monitor stops and report progress to it.
+	 * Solvers that don't support monitoring ignore monitor.
+	 * @param instance instance to solve
+	 * @param monitor monitor of solve
+	 * @return selected sets in order of selection or best selection until stop
+	 * */
+	default Cover solve(Instance instance, Monitor monitor) {
+		return solve(instance);
+	}
+}